@@ -0,0 +1,65 @@
+package TaskFlow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import TaskFlow.task.Deadline;
+import TaskFlow.task.Event;
+import TaskFlow.task.Task;
+import TaskFlow.task.ToDo;
+
+/**
+ * Builds the task lists the benchmarks run against.
+ * The lists come from a fixed seed, so every run, on every machine, measures the same data.
+ */
+public class BenchmarkData {
+
+    private static final long SEED = 42;
+    private static final String[] WORDS = {
+        "read", "book", "return", "buy", "groceries", "finish", "project", "report", "call", "mom",
+        "meeting", "team", "review", "code", "submit", "assignment", "plan", "trip", "gym", "laundry",
+    };
+    // 2022-01-01 00:00 as epoch seconds, the first due date of the generated deadlines.
+    private static final long FIRST_DUE_EPOCH_SECOND = 1_640_995_200L;
+
+    /**
+     * Builds a list of distinct tasks, one third each of todos, deadlines and events, a fifth of them done.
+     *
+     * @param count The number of tasks.
+     * @return The tasks.
+     */
+    public static List<Task> tasks(int count) {
+        Random random = new Random(SEED);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // The number keeps descriptions distinct, as a TaskList rejects duplicates.
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i;
+            tasks.add(task(i % 3, description, random));
+            if (random.nextInt(5) == 0) {
+                tasks.get(i).markAsDone();
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Builds a task of the given type.
+     *
+     * @param type        0 for a todo, 1 for a deadline and 2 for an event.
+     * @param description The description of the task.
+     * @param random      The source of the dates.
+     * @return The task.
+     */
+    public static Task task(int type, String description, Random random) {
+        switch (type) {
+        case 0:
+            return new ToDo(description);
+        case 1:
+            return new Deadline(description, FIRST_DUE_EPOCH_SECOND + random.nextInt(365 * 24 * 60) * 60L);
+        default:
+            return new Event(description, "Mon 2pm", "4pm");
+        }
+    }
+}
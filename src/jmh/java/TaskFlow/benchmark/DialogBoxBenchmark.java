@@ -0,0 +1,100 @@
+package TaskFlow.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.image.Image;
+import javafx.scene.layout.HBox;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.shape.Circle;
+import javafx.scene.text.Text;
+
+import TaskFlow.DialogBox;
+
+/**
+ * A benchmark of building chat bubbles: DialogBox, built in code with shared avatar patterns, against
+ * the former way of loading /view/DialogBox.fxml and creating a new ImagePattern for every bubble.
+ * The bubbles are not shown, so they are built on the benchmark thread; it needs a display, or a headless
+ * JavaFX platform, to start the toolkit that loads the avatar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DialogBoxBenchmark {
+
+    private Image image;
+
+    /**
+     * Starts the JavaFX toolkit and loads the avatar.
+     */
+    @Setup
+    public void setUp() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException e) {
+            // Already started by an earlier trial in this fork.
+        }
+        image = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/user.jpg"));
+    }
+
+    /**
+     * Builds a bubble in code, sharing the pattern of the avatar.
+     *
+     * @return The bubble, so that it is not optimised away.
+     */
+    @Benchmark
+    public HBox inCode() {
+        return DialogBox.getTaskieDialog("reply", image);
+    }
+
+    /**
+     * Builds a bubble from the FXML file, with a pattern of its own.
+     *
+     * @return The bubble, so that it is not optimised away.
+     */
+    @Benchmark
+    public HBox fromFxml() {
+        return new FxmlDialogBox("reply", image);
+    }
+
+    /**
+     * Represents a dialog box built the former way, from the FXML file.
+     */
+    private static class FxmlDialogBox extends HBox {
+        @FXML
+        private Text dialog;
+        @FXML
+        private Circle displayPicture;
+
+        FxmlDialogBox(String text, Image img) {
+            try {
+                FXMLLoader fxmlLoader = new FXMLLoader(DialogBoxBenchmark.class.getResource("/view/DialogBox.fxml"));
+                fxmlLoader.setController(this);
+                fxmlLoader.setRoot(this);
+                fxmlLoader.load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            dialog.setText(text);
+            displayPicture.setFill(new ImagePattern(img));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package TaskFlow.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the "--name value" options of the load test tools.
+ */
+class Options {
+
+    /**
+     * Parses options given as pairs of a name and a value.
+     *
+     * @param args The arguments of a main method.
+     * @return The value of each option, by name without the leading dashes.
+     */
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --name value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,60 @@
+package TaskFlow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import TaskFlow.Parser;
+import TaskFlow.command.Command;
+import TaskFlow.exception.TaskFlowException;
+
+/**
+ * A benchmark of Parser.parse for every command word, and for the longer forms of some of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    @Param({
+        "bye",
+        "list",
+        "list archive --page 2 --size 20",
+        "help",
+        "mark 42",
+        "mark 1-500",
+        "unmark 42",
+        "todo Buy groceries",
+        "deadline Finish project /by 2022-12-31 12:00pm",
+        "event Birthday party /from 2022-12-31 /to 2023-01-01",
+        "delete 7",
+        "delete 3,7,9",
+        "find groceries",
+        "archive 3",
+        "UNARCHIVE 1",
+    })
+    public String input;
+
+    /**
+     * Parses the input.
+     *
+     * @return The command, so that the parse is not optimised away.
+     * @throws TaskFlowException If the input cannot be parsed.
+     */
+    @Benchmark
+    public Command parse() throws TaskFlowException {
+        return Parser.parse(input);
+    }
+}
@@ -0,0 +1,135 @@
+package TaskFlow.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import TaskFlow.TaskFlow;
+import TaskFlow.metrics.LatencyHistogram;
+
+/**
+ * Replays a stream of commands through TaskFlow.run, headless, and reports the throughput, the latency
+ * percentiles of each kind of command and the peak heap, so that scaling regressions anywhere in the
+ * command pipeline show up. The replay runs in a scratch directory, which is deleted afterwards.
+ *
+ * <p>The commands come from a WorkloadGenerator, or from a file written by one:
+ * {@code ReplayDriver --tasks 1000000 --commands 20000} or
+ * {@code ReplayDriver --input build/workload/commands.txt --data build/workload/taskie.txt}.
+ * Other options are "--seed S", "--mix MIX" and "--warmup W", the number of leading commands left out of
+ * the latencies.
+ */
+public class ReplayDriver {
+
+    /**
+     * Runs a replay and prints its report.
+     *
+     * @param args The options described above.
+     * @throws IOException If the scratch directory or the input cannot be used.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = Options.parse(args);
+        Path directory = Files.createTempDirectory("taskflow-replay");
+        System.setProperty("taskflow.stats.file", directory.resolve("stats.json").toString());
+        try {
+            List<String> commands = prepare(options, directory);
+            int warmup = Integer.parseInt(options.getOrDefault("warmup", Integer.toString(commands.size() / 10)));
+            replay(directory, commands, warmup);
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Puts the initial task file in the scratch directory and gets the commands to replay.
+     */
+    private static List<String> prepare(Map<String, String> options, Path directory) throws IOException {
+        Path taskFile = directory.resolve("taskie.txt");
+        if (options.containsKey("input")) {
+            if (options.containsKey("data")) {
+                Files.copy(Path.of(options.get("data")), taskFile);
+            }
+            return Files.readAllLines(Path.of(options.get("input")));
+        }
+        WorkloadGenerator generator = new WorkloadGenerator(Long.parseLong(options.getOrDefault("seed", "42")),
+                options.getOrDefault("mix", WorkloadGenerator.DEFAULT_MIX),
+                Integer.parseInt(options.getOrDefault("tasks", "10000")));
+        generator.writeInitialTasks(taskFile);
+        int count = Integer.parseInt(options.getOrDefault("commands", "10000"));
+        // Generated up front, so that generating them is not timed.
+        List<String> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            commands.add(generator.next());
+        }
+        return commands;
+    }
+
+    private static void replay(Path directory, List<String> commands, int warmup) {
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+        PrintStream console = System.out;
+        // Storage reports every save on standard output; printing it would be timed along with the commands.
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        LatencyHistogram all = new LatencyHistogram();
+        long loadStart = System.nanoTime();
+        TaskFlow taskFlow = new TaskFlow(directory);
+        long loadNanos = System.nanoTime() - loadStart;
+        StringBuilder response = new StringBuilder();
+        long measuredStart = 0;
+        for (int i = 0; i < commands.size(); i++) {
+            if (i == warmup) {
+                measuredStart = System.nanoTime();
+            }
+            String command = commands.get(i);
+            response.setLength(0);
+            long start = System.nanoTime();
+            taskFlow.run(command, response);
+            long nanos = System.nanoTime() - start;
+            if (i >= warmup) {
+                int space = command.indexOf(' ');
+                String kind = (space < 0 ? command : command.substring(0, space)).toLowerCase();
+                latencies.computeIfAbsent(kind, k -> new LatencyHistogram()).record(nanos);
+                all.record(nanos);
+            }
+        }
+        long measuredNanos = System.nanoTime() - measuredStart;
+        taskFlow.close();
+        System.setOut(console);
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+        int measured = commands.size() - warmup;
+        System.out.printf("Loaded the tasks in %.1f ms%n", loadNanos / 1e6);
+        System.out.printf("Replayed %d commands (%d more as warm-up) in %.2f s: %.0f commands/s%n", measured, warmup,
+                measuredNanos / 1e9, measured / (measuredNanos / 1e9));
+        System.out.printf("Peak heap: %.1f MB%n", peakHeap / 1e6);
+        System.out.printf("%-10s %8s %10s %10s %10s%n", "command", "count", "p50 us", "p99 us", "max us");
+        latencies.put("(all)", all);
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            System.out.printf("%-10s %8d %10.1f %10.1f %10.1f%n", entry.getKey(), histogram.getCount(),
+                    histogram.getPercentile(0.5) / 1e3, histogram.getPercentile(0.99) / 1e3,
+                    histogram.getMax() / 1e3);
+        }
+    }
+}
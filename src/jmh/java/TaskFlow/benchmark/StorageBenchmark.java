@@ -0,0 +1,91 @@
+package TaskFlow.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.storage.Storage;
+import TaskFlow.task.Task;
+import TaskFlow.task.TaskList;
+
+/**
+ * A benchmark of loading and saving the whole task file, in the default text format and synchronous mode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path directory;
+    private Storage storage;
+    private TaskList tasks;
+
+    /**
+     * Writes a task file of the benchmarked size to a fresh directory.
+     *
+     * @throws IOException If the directory cannot be created.
+     * @throws TaskFlowException If the file cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException, TaskFlowException {
+        directory = Files.createTempDirectory("taskflow-bench");
+        storage = new Storage(directory.resolve("tasks.txt").toString());
+        tasks = new TaskList(BenchmarkData.tasks(size));
+        storage.saveTask(tasks);
+    }
+
+    /**
+     * Deletes the task file and its directory.
+     *
+     * @throws IOException If they cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Loads the task file.
+     *
+     * @return The tasks.
+     * @throws TaskFlowException If the file cannot be read.
+     */
+    @Benchmark
+    public List<Task> load() throws TaskFlowException {
+        return storage.load();
+    }
+
+    /**
+     * Saves every task to the task file.
+     *
+     * @throws TaskFlowException If the file cannot be written.
+     */
+    @Benchmark
+    public void saveTask() throws TaskFlowException {
+        storage.saveTask(tasks);
+    }
+}
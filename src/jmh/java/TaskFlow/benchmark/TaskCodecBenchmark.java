@@ -0,0 +1,69 @@
+package TaskFlow.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.task.Task;
+
+/**
+ * A benchmark of Task.fromString and Task.toString, the line format of the task file, for each type of task.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskCodecBenchmark {
+
+    /** 0 for a todo, 1 for a deadline and 2 for an event. */
+    @Param({"0", "1", "2"})
+    public int type;
+
+    private Task task;
+    private String line;
+
+    /**
+     * Builds the task of the benchmarked type and its line.
+     */
+    @Setup
+    public void setUp() {
+        task = BenchmarkData.task(type, "finish project report", new Random(42));
+        task.markAsDone();
+        line = task.toString();
+    }
+
+    /**
+     * Decodes a line of the task file.
+     *
+     * @return The task, so that the decoding is not optimised away.
+     * @throws TaskFlowException If the line cannot be decoded.
+     */
+    @Benchmark
+    public Task fromString() throws TaskFlowException {
+        return Task.fromString(line);
+    }
+
+    /**
+     * Encodes a task as a line of the task file.
+     *
+     * @return The line, so that the encoding is not optimised away.
+     */
+    @Benchmark
+    public String toLine() {
+        return task.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package TaskFlow.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.task.Task;
+import TaskFlow.task.TaskList;
+import TaskFlow.task.TaskTree;
+import TaskFlow.task.ToDo;
+
+/**
+ * A benchmark of the TaskList operations that grow with the number of tasks: adding a task, with its
+ * duplicate check, finding tasks by keyword and listing every task.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TaskListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private TaskList tasks;
+    private Task newTask;
+    private Task duplicateTask;
+    private String rareKeyword;
+
+    /**
+     * Builds the list as the application does, over a TaskTree, and builds its search index.
+     */
+    @Setup
+    public void setUp() {
+        tasks = new TaskList(new TaskTree(BenchmarkData.tasks(size)));
+        newTask = new ToDo("a task not in the list");
+        duplicateTask = tasks.getTasks().get(size / 2);
+        rareKeyword = duplicateTask.getDescription();
+        tasks.findTasksByKeyword("warm up the index");
+    }
+
+    /**
+     * Adds a new task, then deletes it again so that the list keeps its size.
+     *
+     * @return The size of the list, so that the work is not optimised away.
+     * @throws TaskFlowException If the task is a duplicate.
+     */
+    @Benchmark
+    public int addThenDelete() throws TaskFlowException {
+        tasks.add(newTask);
+        tasks.delete(tasks.getTaskSize());
+        return tasks.getTaskSize();
+    }
+
+    /**
+     * Runs the duplicate check that rejects adding a task already in the list.
+     *
+     * @return true, as the task is in the list.
+     */
+    @Benchmark
+    public boolean containsDuplicate() {
+        return tasks.contains(duplicateTask);
+    }
+
+    /**
+     * Finds a keyword held by a single task.
+     *
+     * @return The matching tasks.
+     */
+    @Benchmark
+    public ArrayList<Task> findRare() {
+        return tasks.findTasksByKeyword(rareKeyword);
+    }
+
+    /**
+     * Finds a keyword held by about a tenth of the tasks.
+     *
+     * @return The matching tasks.
+     */
+    @Benchmark
+    public ArrayList<Task> findCommon() {
+        return tasks.findTasksByKeyword("project");
+    }
+
+    /**
+     * Lists every task.
+     *
+     * @return The listing.
+     */
+    @Benchmark
+    public String list() {
+        return tasks.list();
+    }
+}
@@ -0,0 +1,180 @@
+package TaskFlow.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import TaskFlow.task.Task;
+
+/**
+ * Generates a realistic stream of commands, together with the task file they start from.
+ * The generator follows the sizes of the task and archive lists as its commands would change them,
+ * so every index it produces is in range and every task it adds is new; the only failures in a
+ * replay are the ones a user would also meet, such as a find that matches nothing.
+ *
+ * <p>Run its main method to write the files for later replays:
+ * {@code WorkloadGenerator --tasks 100000 --commands 50000 --out build/workload}.
+ */
+public class WorkloadGenerator {
+
+    /** Share of each kind of command, in percent, unless a mix is given. */
+    public static final String DEFAULT_MIX =
+            "todo=25,deadline=10,event=10,mark=15,unmark=5,find=15,list=3,delete=7,archive=7,unarchive=3";
+
+    private static final String[] WORDS = {
+        "read", "book", "return", "buy", "groceries", "finish", "project", "report", "call", "mom",
+        "meeting", "team", "review", "code", "submit", "assignment", "plan", "trip", "gym", "laundry",
+    };
+    private static final String[] MONTHS = {"01", "02", "03", "04", "05", "06", "07", "08", "09", "10", "11", "12"};
+
+    private final Random random;
+    private final String[] kinds;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final int initialTasks;
+    private int taskCount;
+    private int archiveCount;
+    private int nextId;
+
+    /**
+     * Constructs a WorkloadGenerator.
+     *
+     * @param seed         The seed of the random choices, so that a workload can be generated again.
+     * @param mix          The weight of each kind of command, as in DEFAULT_MIX.
+     * @param initialTasks The number of tasks in the task file the commands start from.
+     */
+    public WorkloadGenerator(long seed, String mix, int initialTasks) {
+        this.random = new Random(seed);
+        Map<String, Integer> weights = parseMix(mix);
+        this.kinds = weights.keySet().toArray(new String[0]);
+        this.cumulativeWeights = new int[kinds.length];
+        int total = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            total += weights.get(kinds[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+        this.initialTasks = initialTasks;
+        this.taskCount = initialTasks;
+        this.nextId = initialTasks;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected kind=weight in the mix, got " + entry);
+            }
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    /**
+     * Writes the task file the commands start from, in the format of the application.
+     *
+     * @param file The task file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeInitialTasks(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (Task task : BenchmarkData.tasks(initialTasks)) {
+                writer.write(task.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Generates the next command.
+     *
+     * @return The command, as a user would type it.
+     */
+    public String next() {
+        int pick = random.nextInt(totalWeight);
+        int i = 0;
+        while (cumulativeWeights[i] <= pick) {
+            i++;
+        }
+        String command = commandOf(kinds[i]);
+        // Commands on an empty list fall back to adding a task, as a user would.
+        return command != null ? command : commandOf("todo");
+    }
+
+    private String commandOf(String kind) {
+        switch (kind) {
+        case "todo":
+            taskCount++;
+            return "todo " + description();
+        case "deadline":
+            taskCount++;
+            return "deadline " + description() + " /by 2024-" + MONTHS[random.nextInt(12)] + "-"
+                    + (10 + random.nextInt(18)) + " 0" + (1 + random.nextInt(9)) + ":30PM";
+        case "event":
+            taskCount++;
+            return "event " + description() + " /from Mon 2pm /to 4pm";
+        case "mark":
+            return taskCount == 0 ? null : "mark " + (1 + random.nextInt(taskCount));
+        case "unmark":
+            return taskCount == 0 ? null : "unmark " + (1 + random.nextInt(taskCount));
+        case "find":
+            return "find " + WORDS[random.nextInt(WORDS.length)];
+        case "list":
+            // Users page through long lists; a whole listing of millions of tasks is left to the JMH benchmark.
+            return taskCount <= 100 ? "list" : "list --page " + (1 + random.nextInt((taskCount + 49) / 50));
+        case "delete":
+            return taskCount == 0 ? null : "delete " + (1 + random.nextInt(taskCount--));
+        case "archive":
+            if (taskCount == 0) {
+                return null;
+            }
+            archiveCount++;
+            return "archive " + (1 + random.nextInt(taskCount--));
+        case "unarchive":
+            if (archiveCount == 0) {
+                return null;
+            }
+            taskCount++;
+            return "unarchive " + (1 + random.nextInt(archiveCount--));
+        default:
+            throw new IllegalArgumentException("Unknown kind of command " + kind);
+        }
+    }
+
+    /**
+     * Makes up the description of a new task. The initial tasks are numbered from 0 and new ones carry on
+     * from there, so no description repeats.
+     */
+    private String description() {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + nextId++;
+    }
+
+    /**
+     * Writes a task file and a command file for later replays.
+     *
+     * @param args "--tasks N", "--commands M", "--seed S", "--mix MIX" and "--out DIRECTORY", all optional.
+     * @throws IOException If the files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = Options.parse(args);
+        int tasks = Integer.parseInt(options.getOrDefault("tasks", "10000"));
+        int commands = Integer.parseInt(options.getOrDefault("commands", "10000"));
+        Path out = Path.of(options.getOrDefault("out", "build/workload"));
+        WorkloadGenerator generator = new WorkloadGenerator(Long.parseLong(options.getOrDefault("seed", "42")),
+                options.getOrDefault("mix", DEFAULT_MIX), tasks);
+        generator.writeInitialTasks(out.resolve("taskie.txt"));
+        try (BufferedWriter writer = Files.newBufferedWriter(out.resolve("commands.txt"))) {
+            for (int i = 0; i < commands; i++) {
+                writer.write(generator.next());
+                writer.newLine();
+            }
+        }
+        System.out.printf("Wrote %d tasks and %d commands to %s%n", tasks, commands, out);
+    }
+}
@@ -0,0 +1,63 @@
+package TaskFlow;
+
+import java.util.function.Consumer;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * Represents a row of the chat transcript.
+ * A cell is reused for whichever message scrolls into it, so it builds at most one user and one
+ * TaskFlow dialog box in its lifetime and only changes their text afterwards.
+ * A pending page of a listing is requested when a cell first shows it.
+ */
+public class ChatCell extends ListCell<ChatMessage> {
+    private static final double PENDING_OPACITY = 0.5;
+
+    private final Image userImage;
+    private final Image chatBotImage;
+    private final Consumer<ChatMessage> pageRequester;
+    private DialogBox userDialog;
+    private DialogBox taskieDialog;
+
+    /**
+     * Constructs a ChatCell showing messages with the given avatars.
+     *
+     * @param userImage     The user image.
+     * @param chatBotImage  The chatbot image.
+     * @param pageRequester Requests a pending page shown by the cell.
+     */
+    public ChatCell(Image userImage, Image chatBotImage, Consumer<ChatMessage> pageRequester) {
+        this.userImage = userImage;
+        this.chatBotImage = chatBotImage;
+        this.pageRequester = pageRequester;
+        setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        DialogBox box;
+        if (message.isFromUser()) {
+            if (userDialog == null) {
+                userDialog = DialogBox.getUserDialog(message.getText(), userImage);
+            }
+            box = userDialog;
+        } else {
+            if (taskieDialog == null) {
+                taskieDialog = DialogBox.getTaskieDialog(message.getText(), chatBotImage);
+            }
+            box = taskieDialog;
+        }
+        box.setText(message.getText());
+        box.setOpacity(message.isPending() ? PENDING_OPACITY : 1);
+        setGraphic(box);
+        if (message.getPageInput() != null) {
+            pageRequester.accept(message);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package TaskFlow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a message in the chat transcript, either typed by the user or replied by TaskFlow.
+ * Messages are compared by identity, so a pending reply can be found and replaced once it is ready.
+ */
+public class ChatMessage {
+    /** Number of lines in a bubble; a longer reply is shown as several, so only those in view are laid out. */
+    private static final int LINES_PER_BUBBLE = 100;
+
+    private final String text;
+    private final boolean isFromUser;
+    private final boolean isPending;
+    private final String pageInput;
+
+    private ChatMessage(String text, boolean isFromUser, boolean isPending, String pageInput) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+        this.isPending = isPending;
+        this.pageInput = pageInput;
+    }
+
+    /**
+     * Creates a message typed by the user.
+     *
+     * @param text The user input.
+     * @return The message.
+     */
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(text, true, false, null);
+    }
+
+    /**
+     * Creates a reply from TaskFlow.
+     *
+     * @param text The response to the user input.
+     * @return The message.
+     */
+    public static ChatMessage fromTaskFlow(String text) {
+        return new ChatMessage(text, false, false, null);
+    }
+
+    /**
+     * Creates the replies from TaskFlow showing a response, one per page of LINES_PER_BUBBLE lines,
+     * so that a long listing is rendered lazily as it scrolls into view.
+     *
+     * @param text The response to the user input.
+     * @return The messages, in order; a single one for a short response.
+     */
+    public static List<ChatMessage> pagesFromTaskFlow(String text) {
+        List<ChatMessage> pages = new ArrayList<>();
+        int start = 0;
+        int lines = 0;
+        for (int i = text.indexOf('\n'); i >= 0 && i < text.length() - 1; i = text.indexOf('\n', i + 1)) {
+            if (++lines == LINES_PER_BUBBLE) {
+                pages.add(fromTaskFlow(text.substring(start, i + 1)));
+                start = i + 1;
+                lines = 0;
+            }
+        }
+        pages.add(fromTaskFlow(text.substring(start)));
+        return pages;
+    }
+
+    /**
+     * Creates a placeholder for a reply from TaskFlow that is not ready yet.
+     *
+     * @return The message.
+     */
+    public static ChatMessage pendingReply() {
+        return new ChatMessage("...", false, true, null);
+    }
+
+    /**
+     * Creates a placeholder for a page of a listing, which is only requested once it scrolls into view.
+     *
+     * @param pageInput The list command that displays the page.
+     * @return The message.
+     */
+    public static ChatMessage pendingPage(String pageInput) {
+        return new ChatMessage("...", false, true, pageInput);
+    }
+
+    /**
+     * Returns the text of the message.
+     *
+     * @return The text of the message.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Checks if the message was typed by the user.
+     *
+     * @return true if the message is from the user, false if it is from TaskFlow.
+     */
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    /**
+     * Checks if the message is a placeholder for a reply that is not ready yet.
+     *
+     * @return true if the reply is pending, false otherwise.
+     */
+    public boolean isPending() {
+        return isPending;
+    }
+
+    /**
+     * Returns the command displaying the page this message stands in for.
+     *
+     * @return The list command, or null if the message is not a pending page.
+     */
+    public String getPageInput() {
+        return pageInput;
+    }
+
+    /**
+     * Returns the message as written to the transcript file.
+     *
+     * @return The sender, followed by the text on the next lines.
+     */
+    @Override
+    public String toString() {
+        return (isFromUser ? "User:\n" : "TaskFlow:\n") + text;
+    }
+}
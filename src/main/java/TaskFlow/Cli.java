@@ -0,0 +1,94 @@
+package TaskFlow;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A headless front end for TaskFlow, which runs the commands read from standard input, one per line, and
+ * writes their responses to standard output. It uses no JavaFX class, so it starts quickly and suits
+ * piping command files through TaskFlow, as the text UI test does.
+ * Given the "--script" flag, it reads the whole input first and runs it as one script, which saves the
+ * tasks once and undoes every change if a command fails.
+ */
+public class Cli {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String SCRIPT_FLAG = "--script";
+
+    /**
+     * Runs commands from standard input until the "bye" command or the end of the input.
+     *
+     * @param args "--script" to run the input as a single script, or nothing to run each line on its own.
+     * @throws IOException If standard input or output fails.
+     */
+    public static void main(String[] args) throws IOException {
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BUFFER_SIZE);
+        // Storage reports errors on System.out, which would mix with the responses.
+        System.setOut(System.err);
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        TaskFlow taskFlow = new TaskFlow();
+        try {
+            out.write(taskFlow.showGreetings());
+            if (args.length > 0 && args[0].equals(SCRIPT_FLAG)) {
+                out.write(taskFlow.runScript(readScript(in)));
+                return;
+            }
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                taskFlow.run(line, out);
+                if (isBye(line)) {
+                    break;
+                }
+                // Responses to piped input are written in batches; an interactive user sees each one at once.
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        } finally {
+            out.flush();
+            taskFlow.close();
+        }
+    }
+
+    /**
+     * Reads the commands of a script, up to and including the "bye" command or to the end of the input.
+     *
+     * @param in The input to read.
+     * @return The lines read, separated by line breaks.
+     * @throws IOException If the input fails.
+     */
+    private static String readScript(BufferedReader in) throws IOException {
+        StringBuilder script = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null) {
+            script.append(line).append('\n');
+            if (isBye(line)) {
+                break;
+            }
+        }
+        return script.toString();
+    }
+
+    /**
+     * Checks if a line is the "bye" command, after which no more commands are read.
+     *
+     * @param line A line of input.
+     * @return true if the line is the "bye" command, false otherwise.
+     */
+    static boolean isBye(String line) {
+        String command = line.strip();
+        int space = command.indexOf(' ');
+        return (space < 0 ? command : command.substring(0, space)).equalsIgnoreCase("bye");
+    }
+}
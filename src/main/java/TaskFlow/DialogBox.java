@@ -1,56 +1,82 @@
 package TaskFlow;
 
-import java.io.IOException;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.image.Image;
+import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
+import javafx.scene.shape.StrokeType;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 
 /**
- * An example of a custom control using FXML.
- * This control represents a dialog box consisting of an ImageView to represent the speaker's face and a label
+ * A custom control built in code.
+ * This control represents a dialog box consisting of a circle filled with the speaker's face and a bubble
  * containing text from the speaker.
+ * Building the nodes directly, rather than loading an FXML file for every box, and sharing one ImagePattern
+ * per avatar keep a new box down to a handful of allocations.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Text dialog;
-    @FXML
-    private Circle displayPicture;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+    private static final Color AVATAR_STROKE = Color.web("#f8f8f8");
+    private static final double AVATAR_RADIUS = 46.0;
+    private static final String BUBBLE_STYLE = "-fx-background-color: #c6e2e9;";
+    // One pattern per avatar, of which the app only has two, created and read on the JavaFX thread.
+    private static final Map<Image, ImagePattern> PATTERNS = new HashMap<>();
+
+    private final Text dialog;
+    private final FlowPane bubble;
+    private final Circle displayPicture;
 
     private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        dialog = new Text(text);
+        bubble = new FlowPane(dialog);
+        bubble.setMaxHeight(0.0);
+        bubble.setMaxWidth(255.0);
+        bubble.setPrefWidth(16.0);
+        bubble.setStyle(BUBBLE_STYLE);
+        displayPicture = new Circle(AVATAR_RADIUS, patternOf(img));
+        displayPicture.setStroke(AVATAR_STROKE);
+        displayPicture.setStrokeType(StrokeType.INSIDE);
+        displayPicture.setStrokeWidth(0.0);
 
-        dialog.setText(text);
-        displayPicture.setFill(new ImagePattern(img));
+        getChildren().addAll(bubble, displayPicture);
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(PADDING);
+    }
+
+    /**
+     * Returns the pattern painting an avatar, created once per image.
+     */
+    private static ImagePattern patternOf(Image img) {
+        return PATTERNS.computeIfAbsent(img, ImagePattern::new);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Flips the dialog box such that the avatar is on the left and text on the right.
      */
     private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
+        getChildren().setAll(displayPicture, bubble);
         setAlignment(Pos.TOP_LEFT);
     }
 
+    /**
+     * To replace the text of the dialog box, such as a pending reply once it is ready.
+     *
+     * @param text The new text.
+     */
+    public void setText(String text) {
+        dialog.setText(text);
+    }
+
     /**
      * To set the text alignment for the user dialog box.
      *
@@ -1,12 +1,32 @@
 package TaskFlow;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 import javafx.application.Application;
 
 /**
  * A launcher class to work around classpath issues.
+ * Given the "--headless" flag, it runs the command line front end instead of the GUI, and given
+ * the "--server" flag, optionally followed by a port, it serves local clients over TCP.
  */
 public class Launcher {
-    public static void main(String[] args) {
+
+    private static final String HEADLESS_FLAG = "--headless";
+    private static final String SERVER_FLAG = "--server";
+
+    public static void main(String[] args) throws IOException {
+        // Checked before Main is referenced, so that the other modes load no JavaFX class.
+        String mode = args.length > 0 ? args[0] : "";
+        String[] modeArgs = args.length > 0 ? Arrays.copyOfRange(args, 1, args.length) : args;
+        if (mode.equals(HEADLESS_FLAG)) {
+            Cli.main(modeArgs);
+            return;
+        }
+        if (mode.equals(SERVER_FLAG)) {
+            Server.main(modeArgs);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
@@ -15,6 +15,7 @@ import javafx.stage.Stage;
 public class Main extends Application {
 
     private TaskFlow taskFlow = new TaskFlow();
+    private MainWindow mainWindow;
 
     /**
      * The start method is called when the application is launched. It initializes the
@@ -32,13 +33,26 @@ public class Main extends Application {
             Scene sc = new Scene(ap);
             Image img = new Image("/images/app_icon.jpg");
             stage.setScene(sc);
-            fxmlLoader.<MainWindow>getController().setTaskie(taskFlow);
+            mainWindow = fxmlLoader.<MainWindow>getController();
+            mainWindow.setTaskie(taskFlow);
             stage.setTitle("TaskFlow");
             stage.getIcons().add(img);
             stage.show();
-            fxmlLoader.<MainWindow>getController().greet();
+            mainWindow.greet();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * The stop method is called when the window is closed. It writes the transcript and any changes
+     * still pending in the background to disk.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.close();
+        }
+        taskFlow.close();
+    }
 }
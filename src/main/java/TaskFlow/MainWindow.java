@@ -1,63 +1,153 @@
 package TaskFlow;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
+import javafx.scene.control.TextFormatter;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
+
+import TaskFlow.command.Command;
+import TaskFlow.command.ListCommand;
+import TaskFlow.exception.TaskFlowException;
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
  */
 public class MainWindow extends AnchorPane {
+    /** Number of tasks on a page of a listing, each shown in a bubble of its own. */
+    private static final int PAGE_SIZE = 100;
+    private static final String TRANSCRIPT_FILE_NAME = "transcript.txt";
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private TranscriptView transcript;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private TaskFlow taskFlow;
+    private String pastedScript;
+    /** Pending pages already requested, so that showing one again does not request it twice. */
+    private final Set<ChatMessage> requestedPages = new HashSet<>();
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/user.jpg"));
     private Image chatBotImage = new Image(this.getClass().getResourceAsStream("/images/chatbot.jpg"));
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        transcript.setCells(userImage, chatBotImage, this::requestPage);
+        // A text field drops line breaks, so a pasted multi-line script is kept aside, to be run as a batch,
+        // and only summarised in the field. Editing the field afterwards discards it.
+        userInput.setTextFormatter(new TextFormatter<String>(change -> {
+            if (change.getText().indexOf('\n') >= 0) {
+                pastedScript = change.getControlNewText();
+                change.setText(String.format("[script of %d lines]", pastedScript.lines().count()));
+            } else if (change.isContentChange()) {
+                pastedScript = null;
+            }
+            return change;
+        }));
     }
 
     public void setTaskie(TaskFlow d) {
         taskFlow = d;
+        transcript.setSpillPath(d.getDataDirectory().resolve(TRANSCRIPT_FILE_NAME));
+    }
+
+    /**
+     * Waits for the transcript to be written. Called when the window is closed.
+     */
+    public void close() {
+        transcript.close();
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Taskie's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Appends two messages to the transcript, one echoing user input and the other a pending reply.
+     * Clears the user input right away.
+     * The input runs on the command thread of TaskFlow, so the window stays responsive while it is parsed,
+     * executed and saved; the reply is filled in on the JavaFX thread once it is ready.
+     * A pasted script is run in place of the summary shown in the field.
+     * A listing of every task is shown as one pending page per PAGE_SIZE tasks, each requested as it
+     * scrolls into view, so a long list is never built as one string.
      */
     @FXML
     private void handleUserInput() {
-        String input = userInput.getText();
-        String response = taskFlow.run(input);
-        assert response != "";
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getTaskieDialog(response, chatBotImage)
-        );
+        String input = pastedScript != null ? pastedScript : userInput.getText();
+        ChatMessage reply = ChatMessage.pendingReply();
+        transcript.addMessages(ChatMessage.fromUser(input), reply);
         userInput.clear();
+        ListCommand listing = toWholeListing(input);
+        CompletableFuture<List<ChatMessage>> replies = listing != null
+                ? taskFlow.countPages(listing, PAGE_SIZE).thenApply(count -> pendingPages(input, count))
+                : taskFlow.submit(input).thenApply(ChatMessage::pagesFromTaskFlow);
+        replies.whenComplete((messages, error) -> Platform.runLater(() -> transcript.replace(reply, error == null
+                ? messages : ChatMessage.pagesFromTaskFlow("Something went wrong: " + error.getCause()))));
+    }
+
+    /**
+     * Requests a pending page of a listing, the first time it is shown, and puts it in place once it is ready.
+     *
+     * @param page The pending page.
+     */
+    private void requestPage(ChatMessage page) {
+        if (!requestedPages.add(page)) {
+            return;
+        }
+        taskFlow.submit(page.getPageInput()).whenComplete((response, error) -> Platform.runLater(() -> {
+            requestedPages.remove(page);
+            transcript.fillPage(page, ChatMessage.fromTaskFlow(
+                    error == null ? response : "Something went wrong: " + error.getCause()));
+        }));
+    }
+
+    /**
+     * Checks if the input lists every task, or every archived task, on its own.
+     *
+     * @param input The user input.
+     * @return The list command, or null if the input is anything else.
+     */
+    private static ListCommand toWholeListing(String input) {
+        if (input.indexOf('\n') >= 0) {
+            return null;
+        }
+        try {
+            Command command = Parser.parse(input);
+            return command instanceof ListCommand && !((ListCommand) command).isPaged()
+                    ? (ListCommand) command : null;
+        } catch (TaskFlowException e) {
+            // Run as it is, so that the error is reported like that of any other input.
+            return null;
+        }
+    }
+
+    /**
+     * Creates the pending pages of a listing.
+     *
+     * @param input     The list command displaying every task.
+     * @param pageCount The number of pages.
+     * @return One pending page for each page of the listing.
+     */
+    private static List<ChatMessage> pendingPages(String input, int pageCount) {
+        List<ChatMessage> pages = new ArrayList<>(pageCount);
+        for (int page = 1; page <= pageCount; page++) {
+            pages.add(ChatMessage.pendingPage(input.strip() + " --page " + page + " --size " + PAGE_SIZE));
+        }
+        return pages;
     }
 
     /**
-     * Create a dialog box to display the welcome message.
+     * Appends the welcome message to the transcript.
      */
     public void greet() {
         String response = taskFlow.showGreetings();
-        dialogContainer.getChildren().addAll(
-                DialogBox.getTaskieDialog(response, chatBotImage)
-        );
+        transcript.addMessages(ChatMessage.fromTaskFlow(response));
         userInput.clear();
     }
 }
@@ -1,6 +1,7 @@
 package TaskFlow;
 
 import TaskFlow.command.ArchiveCommand;
+import TaskFlow.command.BulkCommand;
 import TaskFlow.command.Command;
 import TaskFlow.command.DeadlineCommand;
 import TaskFlow.command.DeleteCommand;
@@ -8,9 +9,11 @@ import TaskFlow.command.EventCommand;
 import TaskFlow.command.ExitCommand;
 import TaskFlow.command.FindCommand;
 import TaskFlow.command.HelpCommand;
+import TaskFlow.command.IndexSelection;
 import TaskFlow.command.ListArchiveCommand;
 import TaskFlow.command.ListCommand;
 import TaskFlow.command.MarkCommand;
+import TaskFlow.command.StatsCommand;
 import TaskFlow.command.ToDoCommand;
 import TaskFlow.command.UnarchiveCommand;
 import TaskFlow.command.UnmarkCommand;
@@ -21,12 +24,32 @@ import TaskFlow.exception.TaskFlowException;
  * into executable commands.
  * It recognizes different command types and returns the corresponding Command
  * objects.
+ * The input is read in a single pass with a cursor: the command word is found through a perfect hash
+ * of its first letter and length, and arguments are sliced at their markers, without regex or exceptions.
  */
 public class Parser {
 
     private enum CommandType {
         BYE, LIST, MARK, UNMARK, TODO, DEADLINE, EVENT, DELETE, FIND, ARCHIVE,
-        UNARCHIVE, HELP
+        UNARCHIVE, HELP, STATS
+    }
+
+    private static final CommandType[] COMMAND_TABLE = new CommandType[32];
+    private static final String BY_MARKER = "/by ";
+    private static final String FROM_MARKER = "/from";
+    private static final String TO_MARKER = "/to";
+    private static final String ARCHIVE_WORD = "archive";
+    private static final String PAGE_OPTION = "--page";
+    private static final String SIZE_OPTION = "--size";
+    private static final int INVALID_INDEX = Integer.MIN_VALUE;
+
+    static {
+        for (CommandType type : CommandType.values()) {
+            String name = type.name();
+            int slot = hash(name.charAt(0), name.length());
+            assert COMMAND_TABLE[slot] == null : "Command words must not share a slot";
+            COMMAND_TABLE[slot] = type;
+        }
     }
 
     /**
@@ -37,246 +60,395 @@ public class Parser {
      * @throws TaskFlowException When the command is invalid.
      */
     public static Command parse(String userInput) throws TaskFlowException {
-        String[] inputs = userInput.split(" ", 2);
+        int space = userInput.indexOf(' ');
+        int wordLength = space < 0 ? userInput.length() : space;
+        // handle case-insensitive
+        CommandType c = lookUpCommand(userInput, wordLength);
+        if (c == null) {
+            throw invalidCommand();
+        }
+        String argument = space < 0 ? "" : userInput.substring(space + 1);
+
+        switch (c) {
+        case BYE:
+            return new ExitCommand();
+        case LIST:
+            return parseListCommand(argument);
+        case HELP:
+            return new HelpCommand();
+        case STATS:
+            return new StatsCommand();
+        case DELETE:
+            return parseDeleteCommand(argument);
+        case MARK:
+            return parseMarkCommand(argument);
+        case UNMARK:
+            return parseUnmarkCommand(argument);
+        case TODO:
+            return parseToDoCommand(argument);
+        case DEADLINE:
+            return parseDeadlineCommand(argument);
+        case EVENT:
+            return parseEventCommand(argument);
+        case FIND:
+            return parseFindCommand(argument);
+        case ARCHIVE:
+            return parseArchiveCommand(argument);
+        case UNARCHIVE:
+            return parseUnarchiveCommand(argument);
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Hashes a command word by its first letter, ignoring case, and its length.
+     * The multiplier is chosen so that no two command words share a slot of the table.
+     */
+    private static int hash(char first, int length) {
+        return (Character.toLowerCase(first) * 6 + length) & (COMMAND_TABLE.length - 1);
+    }
+
+    /**
+     * Looks up the command word at the start of the input.
+     *
+     * @param input      The user-entered command.
+     * @param wordLength The length of the command word.
+     * @return The type of the command, or null if the word is not a command.
+     */
+    private static CommandType lookUpCommand(String input, int wordLength) {
+        if (wordLength == 0) {
+            return null;
+        }
+        CommandType candidate = COMMAND_TABLE[hash(input.charAt(0), wordLength)];
+        if (candidate == null || candidate.name().length() != wordLength
+                || !input.regionMatches(true, 0, candidate.name(), 0, wordLength)) {
+            return null;
+        }
+        return candidate;
+    }
 
-        try {
-            // handle case-insensitive
-            CommandType c = CommandType.valueOf(inputs[0].toUpperCase());
+    private static TaskFlowException invalidCommand() {
+        return new TaskFlowException("An error occurred: Invalid command.\n"
+                + "Please enter 'help' for a list of valid commands.\n");
+    }
 
-            switch (c) {
-            case BYE:
-                return new ExitCommand();
-            case LIST:
-                return parseListCommand(inputs);
-            case HELP:
-                return new HelpCommand();
-            case DELETE:
-                return parseDeleteCommand(inputs);
-            case MARK:
-                return parseMarkCommand(inputs);
-            case UNMARK:
-                return parseUnmarkCommand(inputs);
-            case TODO:
-                return parseToDoCommand(inputs);
-            case DEADLINE:
-                return parseDeadlineCommand(inputs);
-            case EVENT:
-                return parseEventCommand(inputs);
-            case FIND:
-                return parseFindCommand(inputs);
-            case ARCHIVE:
-                return parseArchiveCommand(inputs);
-            case UNARCHIVE:
-                return parseUnarchiveCommand(inputs);
-            default:
-                return null;
+    /**
+     * Parses a task index the way Integer.parseInt does, without throwing.
+     *
+     * @param argument The text holding the index.
+     * @return The index, or INVALID_INDEX if the text is not an integer.
+     */
+    private static int parseIndex(String argument) {
+        return parseIndex(argument, 0, argument.length());
+    }
+
+    /**
+     * Parses a task index held in part of the text, without throwing.
+     *
+     * @param argument The text holding the index.
+     * @param start    The position of the first character of the index.
+     * @param end      The position after the last character of the index.
+     * @return The index, or INVALID_INDEX if that part of the text is not an integer.
+     */
+    private static int parseIndex(String argument, int start, int end) {
+        int i = start;
+        boolean isNegative = false;
+        if (i < end && (argument.charAt(i) == '-' || argument.charAt(i) == '+')) {
+            isNegative = argument.charAt(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            return INVALID_INDEX;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = argument.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID_INDEX;
             }
-        } catch (IllegalArgumentException e) {
-            throw new TaskFlowException("An error occurred: Invalid command.\n"
-                    + "Please enter 'help' for a list of valid commands.\n");
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE) {
+                return INVALID_INDEX;
+            }
+        }
+        return (int) (isNegative ? -value : value);
+    }
+
+    /**
+     * Parses a selection of indices, such as "3,7,9", "1-500" or "done", into a bulk command.
+     *
+     * @param argument The text holding the selection.
+     * @param action   The change made to every selected task.
+     * @return A BulkCommand.
+     * @throws TaskFlowException If the text is not a valid selection.
+     */
+    private static Command parseBulkCommand(String argument, BulkCommand.Action action) throws TaskFlowException {
+        IndexSelection selection = IndexSelection.parse(argument);
+        if (selection == null) {
+            throw invalidCommand();
         }
+        return new BulkCommand(action, selection);
+    }
+
+    private static int skipSpaces(String argument, int from) {
+        while (from < argument.length() && Character.isWhitespace(argument.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int wordEnd(String argument, int from) {
+        while (from < argument.length() && !Character.isWhitespace(argument.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean isWord(String argument, int start, int end, String word) {
+        return end - start == word.length() && argument.startsWith(word, start);
     }
 
     /**
-     * To check if the string array contains an empty string.
+     * Finds the next "/from" or "/to" marker of an event.
      *
-     * @param inputs The string array containing the user input.
-     * @return true if there is an empty string, false otherwise.
+     * @param argument The arguments of the event command.
+     * @param from     The position to start looking from.
+     * @return The position of the marker, or -1 if there is none.
      */
-    private static boolean containsEmptyString(String[] inputs) {
-        boolean isEmpty = false;
-        for (String str : inputs) {
-            if (str.equals("")) {
-                isEmpty = true;
+    private static int indexOfEventMarker(String argument, int from) {
+        for (int i = argument.indexOf('/', from); i >= 0; i = argument.indexOf('/', i + 1)) {
+            if (argument.startsWith(FROM_MARKER, i) || argument.startsWith(TO_MARKER, i)) {
+                return i;
             }
         }
-        return isEmpty;
+        return -1;
+    }
+
+    private static int eventMarkerLength(String argument, int marker) {
+        return argument.startsWith(FROM_MARKER, marker) ? FROM_MARKER.length() : TO_MARKER.length();
     }
 
     /**
      * Parses a todo command and returns the corresponding ToDoCommand.
      *
-     * @param inputs The string array containing the user input.
+     * @param argument The text after the command word.
      * @return A ToDoCommand.
      * @throws TaskFlowException If the description of the todo is missing.
      */
-    private static Command parseToDoCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            assert inputs.length == 1 || containsEmptyString(inputs)
-                    : "Description cannot be left blank";
+    private static Command parseToDoCommand(String argument) throws TaskFlowException {
+        if (argument.isEmpty()) {
             throw new TaskFlowException("OOPS! The description of a todo cannot be left blank.\n"
                     + "Please enter 'help' command to find out more.\n");
         }
-        String description = inputs[1];
-        return new ToDoCommand(description);
+        return new ToDoCommand(argument);
     }
 
     /**
      * Parses a delete command and returns the corresponding DeleteCommand.
      *
-     * @param inputs The string array containing the user input.
+     * @param argument The text after the command word.
      * @return A DeleteCommand.
      * @throws TaskFlowException If the index of the task to delete is missing.
      */
-    private static Command parseDeleteCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            assert inputs.length == 1 || containsEmptyString(inputs)
-                    : "Index of tasks to be deleted cannot be left blank";
+    private static Command parseDeleteCommand(String argument) throws TaskFlowException {
+        if (argument.isEmpty()) {
             throw new TaskFlowException("Please indicate the index of task you want to delete.\n"
                     + "Please enter 'help' command to find out more.\n");
         }
-        int index = Integer.parseInt(inputs[1]);
+        int index = parseIndex(argument);
+        if (index == INVALID_INDEX) {
+            return parseBulkCommand(argument, BulkCommand.Action.DELETE);
+        }
         return new DeleteCommand(index);
     }
 
     /**
      * Parses the user input to create a MarkCommand.
      *
-     * @param inputs The string array containing the user input.
+     * @param argument The text after the command word.
      * @return A MarkCommand.
      * @throws TaskFlowException If the index is not provided.
      */
-    private static Command parseMarkCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            assert inputs.length == 1 || containsEmptyString(inputs)
-                    : "Index of task to be marked cannot be left blank";
+    private static Command parseMarkCommand(String argument) throws TaskFlowException {
+        if (argument.isEmpty()) {
             throw new TaskFlowException("Please indicate the index of task you want to mark as done.\n"
                     + "Please enter 'help' command to find out more.\n");
         }
-        int index = Integer.parseInt(inputs[1]);
+        int index = parseIndex(argument);
+        if (index == INVALID_INDEX) {
+            return parseBulkCommand(argument, BulkCommand.Action.MARK);
+        }
         return new MarkCommand(index);
     }
 
     /**
      * Parses the user input to create an UnmarkCommand.
      *
-     * @param inputs The string array containing the user input.
+     * @param argument The text after the command word.
      * @return An UnmarkCommand.
      * @throws TaskFlowException If the index is not provided.
      */
-    private static Command parseUnmarkCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            assert inputs.length == 1 || containsEmptyString(inputs)
-                    : "Index of tasks to be unmarked cannot be left blank";
+    private static Command parseUnmarkCommand(String argument) throws TaskFlowException {
+        if (argument.isEmpty()) {
             throw new TaskFlowException("Please indicate the index of task you want to mark as not done.\n"
                     + "Please enter 'help' command to find out more.\n");
         }
-        int index = Integer.parseInt(inputs[1]);
+        int index = parseIndex(argument);
+        if (index == INVALID_INDEX) {
+            return parseBulkCommand(argument, BulkCommand.Action.UNMARK);
+        }
         return new UnmarkCommand(index);
     }
 
     /**
      * Parses the user input to create a DeadlineCommand.
+     * The description runs up to the first "/by " and the date/time up to the next one, if any.
      *
-     * @param inputs The string array containing the user input.
+     * @param argument The text after the command word.
      * @return A DeadlineCommand.
      * @throws TaskFlowException If the description or date/time is missing in the input.
      */
-    private static Command parseDeadlineCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            assert inputs.length == 1 || containsEmptyString(inputs)
-                    : "Description cannot be left blank";
+    private static Command parseDeadlineCommand(String argument) throws TaskFlowException {
+        if (argument.isEmpty()) {
             throw new TaskFlowException("OOPS! The description of a deadline cannot be left blank.\n"
                     + "Please enter 'help' command to find out more.\n");
-        } else if (!inputs[1].contains("/by")) {
-            assert !inputs[1].contains("/by") : "This is invalid format.";
+        }
+        int marker = argument.indexOf(BY_MARKER);
+        int byStart = marker + BY_MARKER.length();
+        int byEnd = marker < 0 ? -1 : argument.indexOf(BY_MARKER, byStart);
+        if (byEnd < 0) {
+            byEnd = argument.length();
+        }
+        if (marker < 0 || byStart == byEnd) {
             throw new TaskFlowException("OOPS! The date/time for the deadline cannot be left blank.\n"
                     + "Please enter 'help' command to find out more.\n");
         }
-        String[] descriptions = inputs[1].split("/by ");
-        return new DeadlineCommand(descriptions[0], descriptions[1]);
+        return new DeadlineCommand(argument.substring(0, marker), argument.substring(byStart, byEnd));
     }
 
     /**
      * Parses the user input to create an EventCommand.
+     * The description, start time and end time are separated by the first two "/from" or "/to" markers,
+     * and the end time runs up to the next marker, if any.
      *
-     * @param inputs The string array containing the user input.
+     * @param argument The text after the command word.
      * @return An EventCommand.
      * @throws TaskFlowException If the description or start/end time is missing in the input.
      */
-    private static Command parseEventCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            assert inputs.length == 1 || containsEmptyString(inputs)
-                    : "Description cannot be left blank";
+    private static Command parseEventCommand(String argument) throws TaskFlowException {
+        if (argument.isEmpty()) {
             throw new TaskFlowException("OOPS! The description of an event cannot be left blank.\n"
                     + "Please enter 'help' command to find out more.\n");
-        } else if (!inputs[1].contains("/from") && !inputs[1].contains("/to")) {
-            assert !inputs[1].contains("/from") && !inputs[1].contains("/to")
-                    : "Invalid format.";
+        }
+        int firstMarker = indexOfEventMarker(argument, 0);
+        int fromStart = firstMarker < 0 ? -1 : firstMarker + eventMarkerLength(argument, firstMarker);
+        int secondMarker = firstMarker < 0 ? -1 : indexOfEventMarker(argument, fromStart);
+        int toStart = secondMarker < 0 ? -1 : secondMarker + eventMarkerLength(argument, secondMarker);
+        int toEnd = secondMarker < 0 ? -1 : indexOfEventMarker(argument, toStart);
+        if (toEnd < 0) {
+            toEnd = argument.length();
+        }
+        if (secondMarker < 0 || fromStart == secondMarker || toStart == toEnd) {
             throw new TaskFlowException("OOPS! The start time and end time cannot be left blank.\n"
                     + "Please enter 'help' command to find out more.\n");
         }
-        String[] descriptions = inputs[1].split("/from|/to");
-        return new EventCommand(descriptions[0], descriptions[1], descriptions[2]);
+        return new EventCommand(argument.substring(0, firstMarker), argument.substring(fromStart, secondMarker),
+                argument.substring(toStart, toEnd));
     }
 
     /**
      * Parses the user input to create a FindCommand for searching tasks by a keyword.
      *
-     * @param inputs The string array containing the user inputs.
+     * @param argument The text after the command word.
      * @return A FindCommand for searching tasks by the specified keyword.
      * @throws TaskFlowException If the keyword is left blank.
      */
-    public static Command parseFindCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            assert inputs.length == 1 || containsEmptyString(inputs)
-                    : "Keyword cannot be left blank";
+    public static Command parseFindCommand(String argument) throws TaskFlowException {
+        if (argument.isEmpty()) {
             throw new TaskFlowException("OOPS! The keyword to find cannot be left blank.\n"
                     + "Please enter 'help' command to find out more.\n");
         }
-        return new FindCommand(inputs[1]);
+        return new FindCommand(argument);
     }
 
     /**
      * Parses an archive command and returns the corresponding ArchiveCommand.
      *
-     * @param inputs The string array containing the user input.
+     * @param argument The text after the command word.
      * @return A ArchiveCommand.
      * @throws TaskFlowException If the index of the task to archive is missing.
      */
-    public static Command parseArchiveCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            assert inputs.length == 1 || containsEmptyString(inputs)
-                    : "Index of tasks to be archived cannot be left blank";
+    public static Command parseArchiveCommand(String argument) throws TaskFlowException {
+        if (argument.isEmpty()) {
             throw new TaskFlowException("Please indicate the index of task you want to archive.\n"
                     + "Please enter 'help' command to find out more.\n");
         }
-        int index = Integer.parseInt(inputs[1]);
+        int index = parseIndex(argument);
+        if (index == INVALID_INDEX) {
+            return parseBulkCommand(argument, BulkCommand.Action.ARCHIVE);
+        }
         return new ArchiveCommand(index);
     }
 
     /**
      * Parses an unarchive command and returns the corresponding UnarchiveCommand.
      *
-     * @param inputs The string array containing the user input.
+     * @param argument The text after the command word.
      * @return A UnarchiveCommand.
      * @throws TaskFlowException If the index of the task to unarchive is missing.
      */
-    public static Command parseUnarchiveCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            assert inputs.length == 1 || containsEmptyString(inputs)
-                    : "Index of tasks to be archived cannot be left blank";
+    public static Command parseUnarchiveCommand(String argument) throws TaskFlowException {
+        if (argument.isEmpty()) {
             throw new TaskFlowException("Please indicate the index of task you want to archive.\n"
                     + "Please enter 'help' command to find out more.\n");
         }
-        int index = Integer.parseInt(inputs[1]);
+        int index = parseIndex(argument);
+        if (index == INVALID_INDEX) {
+            return parseBulkCommand(argument, BulkCommand.Action.UNARCHIVE);
+        }
         return new UnarchiveCommand(index);
     }
 
     /**
-     * Parses a list command and returns the corresponding command.
+     * Parses the list command, which may name the archive and select a page, as in
+     * "list archive --page 2 --size 20". A page without a size holds ListCommand.DEFAULT_PAGE_SIZE tasks,
+     * and a size without a page shows the first page.
      *
-     * @param inputs The string array containing the user input.
-     * @return A ListArchiveCommand or a ListCommand.
-     * @throws TaskFlowException If it is an invalid command.
+     * @param argument The text after the command word.
+     * @return A ListCommand, or a ListArchiveCommand for the archive.
+     * @throws TaskFlowException If the argument is not a valid list selection.
      */
-    public static Command parseListCommand(String[] inputs) throws TaskFlowException {
-        if (inputs.length == 1 || containsEmptyString(inputs)) {
-            return new ListCommand();
-        } else if (inputs[1].equals("archive")) {
-            return new ListArchiveCommand();
-        } else {
-            throw new TaskFlowException("Invalid command. Please try again.\n");
+    public static Command parseListCommand(String argument) throws TaskFlowException {
+        int next = skipSpaces(argument, 0);
+        int firstEnd = wordEnd(argument, next);
+        boolean isArchive = isWord(argument, next, firstEnd, ARCHIVE_WORD);
+        if (isArchive) {
+            next = skipSpaces(argument, firstEnd);
+        }
+        int page = 0;
+        int pageSize = 0;
+        while (next < argument.length()) {
+            int optionEnd = wordEnd(argument, next);
+            int valueStart = skipSpaces(argument, optionEnd);
+            int valueEnd = wordEnd(argument, valueStart);
+            int value = parseIndex(argument, valueStart, valueEnd);
+            if (value < 1) {
+                throw new TaskFlowException("Invalid command. Please try again.\n");
+            }
+            if (isWord(argument, next, optionEnd, PAGE_OPTION)) {
+                page = value;
+            } else if (isWord(argument, next, optionEnd, SIZE_OPTION)) {
+                pageSize = value;
+            } else {
+                throw new TaskFlowException("Invalid command. Please try again.\n");
+            }
+            next = skipSpaces(argument, valueEnd);
+        }
+        if (page > 0 || pageSize > 0) {
+            page = Math.max(page, 1);
+            pageSize = pageSize > 0 ? pageSize : ListCommand.DEFAULT_PAGE_SIZE;
         }
+        return isArchive ? new ListArchiveCommand(page, pageSize) : new ListCommand(page, pageSize);
     }
 }
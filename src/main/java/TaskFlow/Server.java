@@ -0,0 +1,173 @@
+package TaskFlow;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A server that lets several local clients work on the same tasks at once, over TCP on the loopback address.
+ * A client sends one command per line. The response to each command is sent back line by line and ends with
+ * a line holding a single ".", and any line of the response that starts with "." gets one more in front,
+ * so that a response never ends early. The connection is closed after the "bye" command.
+ */
+public class Server implements AutoCloseable {
+
+    /** The port listened on when none is given. */
+    public static final int DEFAULT_PORT = 5050;
+
+    private static final int BACKLOG = 1024;
+    private static final int BUFFER_SIZE = 1 << 14;
+    private static final String END_OF_RESPONSE = ".";
+    private static final int MAX_PORT = 65535;
+    private static final String USAGE = "Usage: --server [port], where the port is a number from 0 to "
+            + MAX_PORT + ".";
+
+    private final TaskFlow taskFlow;
+    private final ServerSocket serverSocket;
+    // Each client is served on a thread of its own, which waits on the client between its commands.
+    private final ExecutorService clients;
+
+    /**
+     * Constructs a Server that runs the commands of its clients on the given TaskFlow.
+     *
+     * @param taskFlow The TaskFlow shared by every client.
+     * @param port     The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public Server(TaskFlow taskFlow, int port) throws IOException {
+        this.taskFlow = taskFlow;
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        AtomicInteger clientCount = new AtomicInteger();
+        this.clients = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "client-" + clientCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a server on the port given as the first argument, or on DEFAULT_PORT, and serves clients
+     * until the program is stopped. A port that is not a valid number only prints the usage.
+     *
+     * @param args The port, optionally.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        if (args.length > 0) {
+            try {
+                port = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                port = -1;
+            }
+            if (port < 0 || port > MAX_PORT) {
+                System.err.println(USAGE);
+                return;
+            }
+        }
+        TaskFlow taskFlow = new TaskFlow();
+        Server server = new Server(taskFlow, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            taskFlow.close();
+        }));
+        System.out.println("TaskFlow is listening on port " + server.getPort() + ".");
+        server.serve();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts clients until the server is closed, serving each on a thread of its own.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                clients.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.out.println("Error accepting a client: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        StringBuilder response = new StringBuilder();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                     StandardCharsets.UTF_8), BUFFER_SIZE);
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(),
+                     StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            socket.setTcpNoDelay(true);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                // The response is built before it is sent, so a slow client cannot hold up the other clients.
+                response.setLength(0);
+                taskFlow.run(line, response);
+                writeResponse(response, out);
+                if (Cli.isBye(line)) {
+                    break;
+                }
+                // A client sending commands without waiting for their responses gets them in one write.
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // The client is gone; its commands have run, and there is nobody left to answer.
+        }
+    }
+
+    private static void writeResponse(CharSequence response, Writer out) throws IOException {
+        int start = 0;
+        int length = response.length();
+        while (start < length) {
+            int end = start;
+            while (end < length && response.charAt(end) != '\n') {
+                end++;
+            }
+            if (response.charAt(start) == '.') {
+                out.write('.');
+            }
+            out.append(response, start, end).write('\n');
+            start = end + 1;
+        }
+        out.write(END_OF_RESPONSE);
+        out.write('\n');
+    }
+
+    /**
+     * Stops accepting clients. Commands already received still run.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.out.println("Error closing the server: " + e.getMessage());
+        }
+        clients.shutdown();
+    }
+}
@@ -1,9 +1,34 @@
 package TaskFlow;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
 import TaskFlow.command.Command;
+import TaskFlow.command.ListCommand;
 import TaskFlow.exception.TaskFlowException;
+import TaskFlow.metrics.CommandEvent;
+import TaskFlow.metrics.Metrics;
+import TaskFlow.metrics.RunEvent;
+import TaskFlow.storage.DurabilityPolicy;
 import TaskFlow.storage.Storage;
+import TaskFlow.task.Task;
 import TaskFlow.task.TaskList;
+import TaskFlow.task.TaskTree;
 import TaskFlow.ui.Ui;
 
 /**
@@ -11,8 +36,26 @@ import TaskFlow.ui.Ui;
  */
 public class TaskFlow {
 
-    private static final String FILE_PATH = "./data/taskie.txt";
-    private static final String ARCHIVED_FILE_PATH = "./data/archive.txt";
+    private static final Path DATA_DIRECTORY = Path.of("./data");
+    private static final String FILE_NAME = "taskie.txt";
+    private static final String ARCHIVED_FILE_NAME = "archive.txt";
+    private static final boolean IS_JOURNAL_MODE = Boolean.getBoolean("taskflow.journal");
+    private static final boolean IS_BINARY_SNAPSHOT = Boolean.getBoolean("taskflow.binary");
+    private static final DurabilityPolicy DURABILITY_POLICY = parseDurabilityPolicy(
+            System.getProperty("taskflow.durability", "SYNC"));
+    private static final long DURABILITY_INTERVAL_MILLIS = Long.getLong("taskflow.durability.interval", 1000);
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    private static final String STATS_FILE_NAME = "stats.json";
+    // A single thread runs every submitted command, so commands never overlap and run in submission order.
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "command-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Commands that only read the tasks share the lock; any other command, or script, holds it alone.
+    private final ReadWriteLock commandLock = new ReentrantReadWriteLock();
+    private final Path dataDirectory;
+    private final Path statsPath;
     private Storage storageForTask;
     private Storage storageForArchivedTask;
     private TaskList tasks;
@@ -20,18 +63,84 @@ public class TaskFlow {
     private Ui ui;
 
     /**
-     * Constructs a TaskFlow object with the specified file path for storage.
+     * Constructs a TaskFlow object keeping its files in the "data" directory of the working directory.
      */
     public TaskFlow() {
+        this(DATA_DIRECTORY);
+    }
+
+    /**
+     * Constructs a TaskFlow object keeping its files in the given directory, such as a scratch directory
+     * for a load test.
+     *
+     * @param dataDirectory The directory of the task and archive files.
+     */
+    public TaskFlow(Path dataDirectory) {
+        this.dataDirectory = dataDirectory;
         ui = new Ui();
-        storageForTask = new Storage(FILE_PATH);
-        storageForArchivedTask = new Storage(ARCHIVED_FILE_PATH);
+        String statsFile = System.getProperty("taskflow.stats.file");
+        statsPath = statsFile != null ? Path.of(statsFile) : dataDirectory.resolve(STATS_FILE_NAME);
+        storageForTask = new Storage(dataDirectory.resolve(FILE_NAME).toString(), IS_JOURNAL_MODE);
+        storageForArchivedTask = new Storage(dataDirectory.resolve(ARCHIVED_FILE_NAME).toString(), IS_JOURNAL_MODE);
+        storageForTask.setDurabilityPolicy(DURABILITY_POLICY, DURABILITY_INTERVAL_MILLIS);
+        storageForArchivedTask.setDurabilityPolicy(DURABILITY_POLICY, DURABILITY_INTERVAL_MILLIS);
+        if (IS_BINARY_SNAPSHOT) {
+            storageForTask.useBinarySnapshot();
+            storageForArchivedTask.useBinarySnapshot();
+        }
+        // The archive is only read by a few commands, so its tasks are decoded on demand.
+        storageForArchivedTask.useLazyLoading();
         try {
-            tasks = new TaskList(storageForTask.load());
-            archiveTasks = new TaskList(storageForArchivedTask.load());
+            // Load the archive alongside the tasks, as the two files are independent.
+            Future<List<Task>> archived = ForkJoinPool.commonPool().submit(storageForArchivedTask::load);
+            // Commands address tasks by position, which a TaskTree reaches in O(log n) for any index.
+            tasks = new TaskList(new TaskTree(storageForTask.load()));
+            archiveTasks = new TaskList(awaitLoad(archived));
         } catch (TaskFlowException e) {
             ui.showError(e.getMessage());
             tasks = new TaskList();
+            archiveTasks = new TaskList();
+        }
+        // Built before any command runs, as finds only read the index and may run side by side.
+        tasks.indexKeywords();
+    }
+
+    /**
+     * Reads the durability policy named by the "taskflow.durability" property, in any case.
+     * A name that is not a policy falls back to SYNC, which never loses a change, rather than failing
+     * to start.
+     *
+     * @param name The name of the policy.
+     * @return The policy.
+     */
+    private static DurabilityPolicy parseDurabilityPolicy(String name) {
+        try {
+            return DurabilityPolicy.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown durability policy '" + name + "', expected one of "
+                    + Arrays.toString(DurabilityPolicy.values()) + ". Using SYNC.");
+            return DurabilityPolicy.SYNC;
+        }
+    }
+
+    /**
+     * Waits for tasks being loaded on another thread.
+     *
+     * @param loading The tasks being loaded.
+     * @return The loaded tasks.
+     * @throws TaskFlowException If an error occurred during the loading process.
+     */
+    private static List<Task> awaitLoad(Future<List<Task>> loading) throws TaskFlowException {
+        try {
+            return loading.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskFlowException("Loading tasks was interrupted.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TaskFlowException) {
+                throw (TaskFlowException) e.getCause();
+            }
+            throw new TaskFlowException("Error loading tasks: " + e.getCause());
         }
     }
 
@@ -42,15 +151,280 @@ public class TaskFlow {
      * Further carry out the following functions based on the command entered.
      */
     public String run(String userInput) {
-        String response = "";
+        StringBuilder response = new StringBuilder();
+        run(userInput, response);
+        return response.toString();
+    }
+
+    /**
+     * Runs user input, writing the response to the given output as it is produced, so that a long
+     * listing reaches a console or a socket without first being built as one string.
+     * It may be called from several threads at once: commands that only read the tasks run side by side,
+     * while a command that changes them waits for every other command to finish. The response is written
+     * once the command has let go of the tasks, so a slow output holds up no other command.
+     *
+     * @param userInput A command, or a script of commands separated by line breaks.
+     * @param out       Where the response is written.
+     */
+    public void run(String userInput, Appendable out) {
+        RunEvent event = new RunEvent();
+        event.begin();
+        boolean isScript = userInput.indexOf('\n') >= 0;
+        Command c = null;
+        try {
+            if (isScript) {
+                out.append(runScript(userInput));
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                c = Parser.parse(userInput);
+            } catch (TaskFlowException e) {
+                Metrics.INVALID.record(Metrics.Phase.PARSE, System.nanoTime() - start);
+                out.append(ui.showError(e.getMessage()));
+                return;
+            }
+            Metrics.Row row = Metrics.of(c.getClass());
+            long parsed = System.nanoTime();
+            row.record(Metrics.Phase.PARSE, parsed - start);
+            Lock lock = c.isReadOnly() ? commandLock.readLock() : commandLock.writeLock();
+            Metrics.startCommand();
+            Ui.Message response;
+            lock.lock();
+            try {
+                response = execute(c);
+            } catch (TaskFlowException e) {
+                String error = ui.showError(e.getMessage());
+                response = o -> o.append(error);
+            } finally {
+                lock.unlock();
+            }
+            long renderStart = System.nanoTime();
+            try {
+                response.writeTo(out);
+            } finally {
+                Metrics.addRender(System.nanoTime() - renderStart);
+                Metrics.finishCommand(row, System.nanoTime() - parsed);
+            }
+        } catch (IOException e) {
+            // The output is gone, such as a closed console; there is nobody left to tell.
+            System.err.println(ui.showError(e.getMessage()));
+        } finally {
+            if (event.shouldCommit()) {
+                event.commandType = isScript ? Metrics.SCRIPT.getName()
+                        : c == null ? Metrics.INVALID.getName() : Metrics.of(c.getClass()).getName();
+                event.taskCount = tasks.getTaskSize();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Executes a parsed command within a CommandEvent.
+     *
+     * @param c The command.
+     * @return The response of the command, to be written once the tasks are free for other commands.
+     * @throws TaskFlowException If the command fails.
+     */
+    private Ui.Message execute(Command c) throws TaskFlowException {
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        try {
+            return c.executeDeferred(tasks, archiveTasks, ui, storageForTask, storageForArchivedTask);
+        } finally {
+            if (event.shouldCommit()) {
+                event.commandType = Metrics.of(c.getClass()).getName();
+                event.taskCount = tasks.getTaskSize();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Queues user input to be run on the command thread, leaving the calling thread free.
+     * Inputs run one at a time, in the order they were submitted.
+     *
+     * @param userInput A command, or a script of commands separated by line breaks.
+     * @return The response, completed once the input has run.
+     */
+    public CompletableFuture<String> submit(String userInput) {
+        return CompletableFuture.supplyAsync(() -> run(userInput), commandExecutor);
+    }
+
+    /**
+     * Queues a count of the pages of a listing on the command thread, for a front end that requests
+     * the pages of a long listing one at a time, as they come into view.
+     *
+     * @param command  A list command that displays every task.
+     * @param pageSize The number of tasks on a page.
+     * @return The number of pages, completed once the commands submitted before have run.
+     */
+    public CompletableFuture<Integer> countPages(ListCommand command, int pageSize) {
+        return CompletableFuture.supplyAsync(() -> {
+            commandLock.readLock().lock();
+            try {
+                return command.countPages(tasks, archiveTasks, pageSize);
+            } finally {
+                commandLock.readLock().unlock();
+            }
+        }, commandExecutor);
+    }
+
+    /**
+     * Runs a script of commands, one per line, as a single batch.
+     * Every line is parsed before any command runs. The commands then run in order and each file
+     * is written once at the end; if a command fails, the changes of the whole script are undone.
+     *
+     * @param script The commands, separated by line breaks. Blank lines are skipped.
+     * @return The responses of the commands, or the error of the line that failed.
+     */
+    public String runScript(String script) {
+        long start = System.nanoTime();
+        List<Command> commands = new ArrayList<>();
+        List<Integer> lineNumbers = new ArrayList<>();
+        String[] lines = script.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            long parseStart = System.nanoTime();
+            try {
+                Command command = Parser.parse(lines[i]);
+                Metrics.of(command.getClass()).record(Metrics.Phase.PARSE, System.nanoTime() - parseStart);
+                commands.add(command);
+                lineNumbers.add(i + 1);
+            } catch (TaskFlowException e) {
+                return ui.showScriptErrorMsg(i + 1, e.getMessage());
+            }
+        }
+
+        commandLock.writeLock().lock();
+        try {
+            return runScript(commands, lineNumbers, start);
+        } finally {
+            commandLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the parsed commands of a script as a single batch.
+     *
+     * @param commands    The commands, in order.
+     * @param lineNumbers The line of the script each command was read from.
+     * @param start       When the script started to be parsed, in nanoseconds.
+     * @return The responses of the commands, or the error of the command that failed.
+     */
+    private String runScript(List<Command> commands, List<Integer> lineNumbers, long start) {
+        StringBuilder response = new StringBuilder();
         try {
-            Command c = Parser.parse(userInput);
-            response += c.execute(tasks, archiveTasks, ui, storageForTask,
-                    storageForArchivedTask);
+            // Saves requested before the script are written first, so none of them runs while it is undone.
+            storageForTask.flush();
+            storageForArchivedTask.flush();
         } catch (TaskFlowException e) {
-            response += ui.showError(e.getMessage());
+            response.append(ui.showError(e.getMessage()));
         }
-        return response;
+        tasks.beginTransaction();
+        archiveTasks.beginTransaction();
+        storageForTask.beginBatch();
+        storageForArchivedTask.beginBatch();
+        int current = 0;
+        boolean isApplied = false;
+        try {
+            for (; current < commands.size(); current++) {
+                Command command = commands.get(current);
+                long executeStart = System.nanoTime();
+                Metrics.startCommand();
+                Ui.Message message = execute(command);
+                long renderStart = System.nanoTime();
+                try {
+                    message.writeTo(response);
+                } catch (IOException e) {
+                    throw new AssertionError("A StringBuilder never fails to append", e);
+                }
+                Metrics.addRender(System.nanoTime() - renderStart);
+                Metrics.finishCommand(Metrics.of(command.getClass()), System.nanoTime() - executeStart);
+            }
+            isApplied = true;
+        } catch (TaskFlowException e) {
+            return ui.showScriptErrorMsg(lineNumbers.get(current), e.getMessage());
+        } finally {
+            if (!isApplied) {
+                tasks.rollback();
+                archiveTasks.rollback();
+                storageForTask.abortBatch(tasks);
+                storageForArchivedTask.abortBatch(archiveTasks);
+            }
+        }
+
+        tasks.commit();
+        archiveTasks.commit();
+        // The single save of the script is its persist phase; the rest of its time is its execution.
+        Metrics.startCommand();
+        try {
+            try {
+                storageForTask.endBatch(tasks);
+            } finally {
+                storageForArchivedTask.endBatch(archiveTasks);
+            }
+        } catch (TaskFlowException e) {
+            return response + ui.showError(e.getMessage());
+        } finally {
+            Metrics.finishCommand(Metrics.SCRIPT, System.nanoTime() - start);
+        }
+        return response + ui.showScriptMsg(commands.size());
+    }
+
+    /**
+     * Runs the commands already submitted, then writes any changes still pending in the background to disk.
+     * Called when the program is closed without the "bye" command.
+     */
+    public void close() {
+        commandExecutor.shutdown();
+        try {
+            if (!commandExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println(ui.showError("Commands still running were not saved."));
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // Commands called from other threads, such as by server clients, finish before the files are written.
+        commandLock.writeLock().lock();
+        try {
+            storageForTask.flush();
+            storageForArchivedTask.flush();
+        } catch (TaskFlowException e) {
+            System.out.println(ui.showError(e.getMessage()));
+        } finally {
+            commandLock.writeLock().unlock();
+        }
+        dumpStats();
+    }
+
+    /**
+     * Writes the latencies recorded during the session as JSON, to the file named by the
+     * "taskflow.stats.file" property or else to stats.json in the data directory, for tools to pick up
+     * after the program has exited.
+     */
+    private void dumpStats() {
+        try {
+            Files.createDirectories(statsPath.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(statsPath)) {
+                Metrics.writeJson(writer);
+            }
+        } catch (IOException e) {
+            System.out.println(ui.showError("Error writing stats: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Returns the directory of the task and archive files, where front ends keep files of their own.
+     *
+     * @return The data directory.
+     */
+    public Path getDataDirectory() {
+        return dataDirectory;
     }
 
     /**
@@ -0,0 +1,166 @@
+package TaskFlow;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+import TaskFlow.ui.Ui;
+
+/**
+ * Represents the chat transcript as a virtualized list of messages.
+ * Only the rows in view are backed by nodes, so layout and CSS passes cost the same however long
+ * the session runs. Past a cap, the oldest messages are appended to a transcript file and dropped
+ * from memory; the cap is set by the "taskflow.transcript.cap" property, and 0 keeps every message.
+ * The file is written on a thread of its own, so the JavaFX thread never waits on disk.
+ */
+public class TranscriptView extends ListView<ChatMessage> {
+    private static final int CAP = Integer.getInteger("taskflow.transcript.cap", 5000);
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    // A single thread appends the spilled messages, so they reach the file in the order they were spilled.
+    private final ExecutorService spiller = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transcript-spiller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Ui ui = new Ui();
+    private Path spillPath;
+
+    /**
+     * Constructs an empty TranscriptView.
+     */
+    public TranscriptView() {
+        setStyle("-fx-background-color: #dadbc0; -fx-control-inner-background: #dadbc0;");
+        setFocusTraversable(false);
+    }
+
+    /**
+     * Sets the avatars shown next to the messages, and what requests a pending page once it is shown.
+     *
+     * @param userImage     The user image.
+     * @param chatBotImage  The chatbot image.
+     * @param pageRequester Requests a pending page, which may be shown many times before it is replaced.
+     */
+    public void setCells(Image userImage, Image chatBotImage, Consumer<ChatMessage> pageRequester) {
+        setCellFactory(view -> new ChatCell(userImage, chatBotImage, pageRequester));
+    }
+
+    /**
+     * Sets the transcript file the oldest messages are appended to. Until it is set, every message is kept.
+     *
+     * @param spillPath The transcript file.
+     */
+    public void setSpillPath(Path spillPath) {
+        this.spillPath = spillPath;
+    }
+
+    /**
+     * Appends messages to the transcript and scrolls to the last one.
+     *
+     * @param messages The messages to be appended.
+     */
+    public void addMessages(ChatMessage... messages) {
+        getItems().addAll(messages);
+        capSize();
+        scrollTo(getItems().size() - 1);
+    }
+
+    /**
+     * Replaces a message, such as a pending reply once it is ready, and scrolls to the first replacement.
+     * Nothing happens if the message has already been spilled to the transcript file.
+     *
+     * @param message      The message to be replaced.
+     * @param replacements The messages shown in its place, at least one.
+     */
+    public void replace(ChatMessage message, List<ChatMessage> replacements) {
+        // The message is almost always one of the last few, so search from the end.
+        ObservableList<ChatMessage> items = getItems();
+        int index = items.lastIndexOf(message);
+        if (index < 0) {
+            return;
+        }
+        items.set(index, replacements.get(0));
+        items.addAll(index + 1, replacements.subList(1, replacements.size()));
+        int dropped = capSize();
+        scrollTo(Math.max(0, index - dropped));
+    }
+
+    /**
+     * Puts a requested page of a listing in place of its placeholder, without scrolling, as the placeholder
+     * was requested because it came into view.
+     * Nothing happens if the placeholder has already been spilled to the transcript file.
+     *
+     * @param placeholder The pending page.
+     * @param page        The page.
+     */
+    public void fillPage(ChatMessage placeholder, ChatMessage page) {
+        ObservableList<ChatMessage> items = getItems();
+        int index = items.lastIndexOf(placeholder);
+        if (index >= 0) {
+            items.set(index, page);
+        }
+    }
+
+    /**
+     * Spills the oldest messages once the transcript has grown past the cap.
+     *
+     * @return The number of messages spilled.
+     */
+    private int capSize() {
+        int size = getItems().size();
+        if (CAP <= 0 || size <= CAP || spillPath == null) {
+            return 0;
+        }
+        int count = size - CAP + CAP / 10;
+        spillOldest(count);
+        return count;
+    }
+
+    /**
+     * Drops the oldest messages from the list and appends them to the transcript file in the background.
+     * A tenth of the cap goes at a time, so the front of the list is cut once per many messages.
+     * A failed write is reported in the transcript, like the error of a command.
+     */
+    private void spillOldest(int count) {
+        List<ChatMessage> oldest = getItems().subList(0, count);
+        StringBuilder text = new StringBuilder();
+        for (ChatMessage message : oldest) {
+            text.append(message).append("\n\n");
+        }
+        oldest.clear();
+        Path path = spillPath;
+        spiller.execute(() -> {
+            try {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                Files.writeString(path, text, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                String error = ui.showError("Error saving the transcript: " + e.getMessage());
+                Platform.runLater(() -> addMessages(ChatMessage.fromTaskFlow(error)));
+            }
+        });
+    }
+
+    /**
+     * Waits for the messages spilled so far to be written to the transcript file.
+     * Called when the window is closed.
+     */
+    public void close() {
+        spiller.shutdown();
+        try {
+            spiller.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
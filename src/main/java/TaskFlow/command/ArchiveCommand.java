@@ -18,27 +18,26 @@ public class ArchiveCommand extends Command {
     }
 
     /**
-     * Executes the command based on the given parameters.
+     * Moves the task at the index to the archive, saves both lists and writes the confirmation to the output.
      *
      * @param tasks         The list of tasks.
-     * @param archiveTasks  The list of archived tasks.
+     * @param archiveTasks  The list of archive tasks.
      * @param ui            The Ui to interact with the user.
-     * @param storage       The Storage to save tasks to a file.
+     * @param storage       The Storage to save the tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out           Where the confirmation is written.
+     * @throws TaskFlowException If the index is out of range, or the change cannot be saved or written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
         if (this.index <= tasks.getTaskSize() && this.index > 0) {
             Task taskToArchive = tasks.getTasks().get(index - 1);
             archiveTasks.add(taskToArchive);
-            String s = ui.showArchiveMsg(tasks.getTasks().get(this.index - 1),
-                    archiveTasks.getTaskSize());
             tasks.delete(this.index);
-            storage.saveTask(tasks);
-            archived.saveTask(archiveTasks);
-            return s;
+            storage.recordDelete(tasks, taskToArchive);
+            archived.recordAdd(archiveTasks, taskToArchive);
+            respond(out, o -> ui.writeArchiveMsg(taskToArchive, archiveTasks.getTaskSize(), o));
         } else {
             throw new TaskFlowException("Invalid index. \n"
                     + "Please provide a valid index within the range 1 to "
@@ -0,0 +1,163 @@
+package TaskFlow.command;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.storage.Storage;
+import TaskFlow.task.Task;
+import TaskFlow.task.TaskList;
+import TaskFlow.ui.Ui;
+
+/**
+ * A class that inherits from Command class.
+ * Represents a mark, unmark, delete, archive or unarchive command over a selection of tasks,
+ * such as "delete 3,7,9", "mark 1-500" or "archive done".
+ * The selection is checked in full before any task changes, deletions are compacted in a single
+ * sweep, and each affected file is written once.
+ */
+public class BulkCommand extends Command {
+
+    /**
+     * Represents the change made to every selected task.
+     */
+    public enum Action {
+        MARK, UNMARK, DELETE, ARCHIVE, UNARCHIVE
+    }
+
+    private final Action action;
+    private final IndexSelection selection;
+
+    /**
+     * Constructs a BulkCommand applying an action to a selection of tasks.
+     *
+     * @param action    The change made to every selected task.
+     * @param selection The selected tasks, from the archive for UNARCHIVE and from the task list otherwise.
+     */
+    public BulkCommand(Action action, IndexSelection selection) {
+        this.action = action;
+        this.selection = selection;
+    }
+
+    /**
+     * Applies the action to every selected task, saves the changes and writes a summary to the output.
+     *
+     * @param tasks         The list of tasks.
+     * @param archiveTasks  The list of archived tasks.
+     * @param ui            The Ui to interact with the user.
+     * @param storage       The Storage to save tasks to a file.
+     * @param archived      The storage to save the archived tasks to a file.
+     * @param out           Where the summary is written.
+     * @throws TaskFlowException If an index is out of range, a task would be duplicated, or the changes cannot
+     *                           be saved or written.
+     */
+    @Override
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
+        int count;
+        switch (action) {
+        case MARK:
+            count = setStatus(tasks, storage, true);
+            respond(out, o -> ui.writeBulkMarkMsg(count, o));
+            break;
+        case UNMARK:
+            count = setStatus(tasks, storage, false);
+            respond(out, o -> ui.writeBulkUnmarkMsg(count, o));
+            break;
+        case DELETE:
+            count = delete(tasks, storage);
+            respond(out, o -> ui.writeBulkDeleteMsg(count, tasks.getTaskSize(), o));
+            break;
+        case ARCHIVE:
+            count = move(tasks, storage, archiveTasks, archived);
+            respond(out, o -> ui.writeBulkArchiveMsg(count, archiveTasks.getTaskSize(), o));
+            break;
+        case UNARCHIVE:
+            count = move(archiveTasks, archived, tasks, storage);
+            respond(out, o -> ui.writeBulkUnarchiveMsg(count, archiveTasks.getTaskSize(), o));
+            break;
+        default:
+            throw new AssertionError("Unknown action " + action);
+        }
+    }
+
+    /**
+     * Marks the selected tasks as done or not done.
+     *
+     * @return The number of tasks changed.
+     */
+    private int setStatus(TaskList tasks, Storage storage, boolean isDone) throws TaskFlowException {
+        int[] indices = selection.resolve(tasks);
+        storage.beginBatch();
+        try {
+            for (int index : indices) {
+                if (isDone) {
+                    tasks.mark(index);
+                    storage.recordMark(tasks, index);
+                } else {
+                    tasks.unmark(index);
+                    storage.recordUnmark(tasks, index);
+                }
+            }
+        } finally {
+            storage.endBatch(tasks);
+        }
+        return indices.length;
+    }
+
+    /**
+     * Deletes the selected tasks.
+     *
+     * @return The number of tasks deleted.
+     */
+    private int delete(TaskList tasks, Storage storage) throws TaskFlowException {
+        List<Task> deleted = tasks.deleteAll(selection.resolve(tasks));
+        storage.beginBatch();
+        try {
+            for (Task task : deleted) {
+                storage.recordDelete(tasks, task);
+            }
+        } finally {
+            storage.endBatch(tasks);
+        }
+        return deleted.size();
+    }
+
+    /**
+     * Moves the selected tasks from one list to the end of the other, in order.
+     * Every task is checked against the target list first, so that no task moves if one cannot.
+     *
+     * @return The number of tasks moved.
+     */
+    private int move(TaskList source, Storage sourceStorage, TaskList target, Storage targetStorage)
+            throws TaskFlowException {
+        int[] indices = selection.resolve(source);
+        Set<Task> moving = new HashSet<>();
+        for (int index : indices) {
+            Task task = source.getTasks().get(index - 1);
+            if (target.contains(task) || !moving.add(task)) {
+                throw new TaskFlowException("Task with the same details already exists.\n"
+                        + task + "\nPlease try again.");
+            }
+        }
+        List<Task> moved = source.deleteAll(indices);
+        sourceStorage.beginBatch();
+        targetStorage.beginBatch();
+        try {
+            for (Task task : moved) {
+                target.add(task);
+                sourceStorage.recordDelete(source, task);
+                targetStorage.recordAdd(target, task);
+            }
+        } finally {
+            // Whatever was changed in memory is written, and neither storage is left inside a batch.
+            try {
+                sourceStorage.endBatch(source);
+            } finally {
+                targetStorage.endBatch(target);
+            }
+        }
+        return moved.size();
+    }
+}
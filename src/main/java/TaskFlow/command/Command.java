@@ -1,6 +1,9 @@
 package TaskFlow.command;
 
+import java.io.IOException;
+
 import TaskFlow.exception.TaskFlowException;
+import TaskFlow.metrics.Metrics;
 import TaskFlow.storage.Storage;
 import TaskFlow.task.TaskList;
 import TaskFlow.ui.Ui;
@@ -12,15 +15,91 @@ import TaskFlow.ui.Ui;
 public abstract class Command {
 
     /**
-     * Executes the command based on the given parameters.
+     * Executes the command based on the given parameters, and returns its response.
+     *
+     * @param tasks         The list of tasks.
+     * @param archiveTasks  The list of archive tasks.
+     * @param ui            The Ui to interact with the user.
+     * @param storage       The Storage to save tasks to a file.
+     * @param archived      The storage to save the archived tasks to a file.
+     * @return The response of the command.
+     * @throws TaskFlowException If there is an error while executing the command.
+     */
+    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
+                          Storage storage, Storage archived) throws TaskFlowException {
+        StringBuilder response = new StringBuilder();
+        executeTo(tasks, archiveTasks, ui, storage, archived, response);
+        return response.toString();
+    }
+
+    /**
+     * Executes the command, writing its response to the given output as it goes,
+     * rather than building it in memory first.
+     *
+     * @param tasks         The list of tasks.
+     * @param archiveTasks  The list of archive tasks.
+     * @param ui            The Ui to interact with the user.
+     * @param storage       The Storage to save tasks to a file.
+     * @param archived      The storage to save the archived tasks to a file.
+     * @param out           Where the response is written.
+     * @throws TaskFlowException If there is an error while executing the command or writing its response.
+     */
+    public abstract void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                                   Appendable out) throws TaskFlowException;
+
+    /**
+     * Executes the command and returns its response, to be written once the task lists are free for other
+     * commands again, so that a slow output holds none of them up.
+     * Commands whose response lists tasks override this to copy the tasks they list.
      *
      * @param tasks         The list of tasks.
      * @param archiveTasks  The list of archive tasks.
      * @param ui            The Ui to interact with the user.
      * @param storage       The Storage to save tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
+     * @return The response of the command.
      * @throws TaskFlowException If there is an error while executing the command.
      */
-    public abstract String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                                   Storage storage, Storage archived) throws TaskFlowException;
+    public Ui.Message executeDeferred(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage,
+                                      Storage archived) throws TaskFlowException {
+        String response = execute(tasks, archiveTasks, ui, storage, archived);
+        return out -> out.append(response);
+    }
+
+    /**
+     * Checks if the command only reads the task lists, so that it may run at the same time as other such commands.
+     * Commands are taken to change the tasks unless they override this.
+     *
+     * @return true if the command changes neither the tasks nor their files, false otherwise.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Writes the response of the command to the output, timed as its render phase.
+     *
+     * @param out     Where the response is written.
+     * @param message The response.
+     * @throws TaskFlowException If the response cannot be written.
+     */
+    protected static void respond(Appendable out, Ui.Message message) throws TaskFlowException {
+        long start = System.nanoTime();
+        try {
+            message.writeTo(out);
+            Metrics.addRender(System.nanoTime() - start);
+        } catch (IOException e) {
+            throw writeError(e);
+        }
+    }
+
+    /**
+     * Reports a response that could not be written.
+     *
+     * @param e The error raised while writing.
+     * @return The exception to be thrown.
+     */
+    protected static TaskFlowException writeError(IOException e) {
+        return new TaskFlowException("Error writing the response: " + e.getMessage());
+    }
 }
@@ -26,22 +26,21 @@ public class DeadlineCommand extends Command {
     }
 
     /**
-     * Executes the DeadlineCommand by adding the created deadline task to the TaskList,
-     * displaying a confirmation message, and saving the updated TaskList to storage.
-     * Saves the changes into the file.
+     * Adds the Deadline task to the TaskList, saves the change and writes the confirmation to the output.
      *
-     * @param tasks         The list of tasks.
-     * @param archiveTasks  The list of archive tasks.
+     * @param tasks         The TaskList that holds the list of tasks.
+     * @param archiveTasks  The list of archived tasks.
      * @param ui            The Ui to interact with the user.
      * @param storage       The Storage to save the tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out           Where the confirmation is written.
+     * @throws TaskFlowException If the task already exists, or the change cannot be saved or written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
         tasks.add(deadline);
-        storage.saveTask(tasks);
-        return ui.showAddMsg(deadline, tasks.getTaskSize());
+        storage.recordAdd(tasks, deadline);
+        respond(out, o -> ui.writeAddMsg(deadline, tasks.getTaskSize(), o));
     }
 }
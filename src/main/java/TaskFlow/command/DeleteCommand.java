@@ -2,6 +2,7 @@ package TaskFlow.command;
 
 import TaskFlow.exception.TaskFlowException;
 import TaskFlow.storage.Storage;
+import TaskFlow.task.Task;
 import TaskFlow.task.TaskList;
 import TaskFlow.ui.Ui;
 
@@ -23,26 +24,25 @@ public class DeleteCommand extends Command {
     }
 
     /**
-     * Executes the DeleteCommand by removing the task at the specified index from the
-     * TaskList, displaying a deletion message, and saving the updated TaskList to storage.
-     * Saves the changes into the file.
+     * Deletes the task at the index, saves the change and writes the confirmation to the output.
      *
      * @param tasks         The list of tasks.
      * @param archiveTasks  The list of archive tasks.
      * @param ui            The Ui to interact with the user.
      * @param storage       The Storage to save the tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out           Where the confirmation is written.
+     * @throws TaskFlowException If the index is out of range, or the change cannot be saved or written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
         if (this.index <= tasks.getTaskSize() && this.index > 0) {
-            String s = ui.showDeleteMsg(tasks.getTasks().get(this.index - 1),
-                    tasks.getTaskSize());
+            Task taskToDelete = tasks.getTasks().get(this.index - 1);
+            int size = tasks.getTaskSize();
             tasks.delete(this.index);
-            storage.saveTask(tasks);
-            return s;
+            storage.recordDelete(tasks, taskToDelete);
+            respond(out, o -> ui.writeDeleteMsg(taskToDelete, size, o));
         } else {
             throw new TaskFlowException("Invalid index. \n"
                     + "Please provide a valid index within the range 1 to "
@@ -26,22 +26,21 @@ public class EventCommand extends Command {
     }
 
     /**
-     * Executes the EventCommand by adding the event task to the TaskList,
-     * displaying an addition message, and saving the updated TaskList to storage.
-     * Saves the changes into the file.
+     * Adds the Event task to the TaskList, saves the change and writes the confirmation to the output.
      *
-     * @param tasks         The list of tasks.
-     * @param archiveTasks  The list of archive tasks.
+     * @param tasks         The TaskList that holds the list of tasks.
+     * @param archiveTasks  The list of archived tasks.
      * @param ui            The Ui to interact with the user.
      * @param storage       The Storage to save the tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out           Where the confirmation is written.
+     * @throws TaskFlowException If the task already exists, or the change cannot be saved or written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
         tasks.add(event);
-        storage.saveTask(tasks);
-        return ui.showAddMsg(event, tasks.getTaskSize());
+        storage.recordAdd(tasks, event);
+        respond(out, o -> ui.writeAddMsg(event, tasks.getTaskSize(), o));
     }
 }
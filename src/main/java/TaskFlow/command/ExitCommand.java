@@ -12,19 +12,22 @@ import TaskFlow.ui.Ui;
 public class ExitCommand extends Command {
 
     /**
-     * Executes the ExitCommand by displaying a goodbye message to the user.
+     * Executes the ExitCommand by writing any pending changes to disk and
+     * displaying a goodbye message to the user.
      *
      * @param tasks        The list of tasks.
      * @param archiveTasks The list of archive tasks.
      * @param ui           The Ui to interact with the user.
      * @param storage      The Storage to save the tasks to a file.
      * @param archived     The storage to save the archived tasks to a file.
-     * @return The goodbye message.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out          Where the goodbye message is written.
+     * @throws TaskFlowException If the pending changes cannot be saved, or the goodbye message cannot be written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
-        return ui.showGoodbyeMsg();
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
+        storage.flush();
+        archived.flush();
+        respond(out, o -> o.append(ui.showGoodbyeMsg()));
     }
 }
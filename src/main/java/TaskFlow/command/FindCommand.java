@@ -1,7 +1,12 @@
 package TaskFlow.command;
 
+import java.io.IOException;
+import java.util.ArrayList;
+
 import TaskFlow.exception.TaskFlowException;
+import TaskFlow.metrics.Metrics;
 import TaskFlow.storage.Storage;
+import TaskFlow.task.Task;
 import TaskFlow.task.TaskList;
 import TaskFlow.ui.Ui;
 
@@ -23,22 +28,39 @@ public class FindCommand extends Command {
     }
 
     /**
-     * Executes the find command, searching for tasks with the specified keyword.
+     * Executes the find command, writing the matching tasks to the output one line at a time.
      *
      * @param tasks         The list of tasks to search.
      * @param archiveTasks  The list of archive tasks.
      * @param ui            The user interface for displaying messages.
      * @param storage       The storage for saving tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If the keyword is not found in the list of tasks.
+     * @param out           Where the matching tasks are written.
+     * @throws TaskFlowException If the keyword is not found in the list of tasks, or the tasks cannot be written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
-        if (!tasks.findTasksByKeyword(keyword).isEmpty()) {
-            return ui.showFindMsg(tasks.findTasksByKeyword(keyword));
-        } else {
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
+        ArrayList<Task> matchingTasks = tasks.findTasksByKeyword(keyword);
+        if (matchingTasks.isEmpty()) {
             throw new TaskFlowException("Keyword is not found.");
         }
+        long start = System.nanoTime();
+        try {
+            ui.writeFindMsg(matchingTasks, out);
+            Metrics.addRender(System.nanoTime() - start);
+        } catch (IOException e) {
+            throw writeError(e);
+        }
+    }
+
+    /**
+     * Returns true, as finding tasks only reads the list.
+     *
+     * @return true.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
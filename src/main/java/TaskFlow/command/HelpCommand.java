@@ -20,11 +20,22 @@ public class HelpCommand extends Command {
      * @param ui            The Ui to interact with the user.
      * @param storage       The Storage to save the tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out           Where the help text is written.
+     * @throws TaskFlowException If the help text cannot be written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
-        return ui.showHelpMsg();
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
+        respond(out, o -> o.append(ui.showHelpMsg()));
+    }
+
+    /**
+     * Returns true, as the help text does not depend on the tasks.
+     *
+     * @return true.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
@@ -0,0 +1,132 @@
+package TaskFlow.command;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.task.Task;
+import TaskFlow.task.TaskList;
+
+/**
+ * Represents a selection of tasks by index, such as "3,7,9", "1-500", "2,10-20", or "done" for
+ * every task that is marked as done.
+ */
+public class IndexSelection {
+
+    private static final String DONE = "done";
+
+    /** Pairs of inclusive 1-based bounds; unused when selecting done tasks. */
+    private final int[] ranges;
+    private final boolean isDoneSelection;
+
+    private IndexSelection(int[] ranges, boolean isDoneSelection) {
+        this.ranges = ranges;
+        this.isDoneSelection = isDoneSelection;
+    }
+
+    /**
+     * Parses a selection of indices and ranges separated by commas, or the word "done".
+     *
+     * @param text The text of the selection.
+     * @return The selection, or null if the text is not a valid selection.
+     */
+    public static IndexSelection parse(String text) {
+        if (text.trim().equalsIgnoreCase(DONE)) {
+            return new IndexSelection(new int[0], true);
+        }
+        List<Integer> bounds = new ArrayList<>();
+        int i = 0;
+        while (true) {
+            i = skipSpaces(text, i);
+            int numberEnd = skipDigits(text, i);
+            int from = toIndex(text, i, numberEnd);
+            int to = from;
+            i = skipSpaces(text, numberEnd);
+            if (i < text.length() && text.charAt(i) == '-') {
+                i = skipSpaces(text, i + 1);
+                numberEnd = skipDigits(text, i);
+                to = toIndex(text, i, numberEnd);
+                i = skipSpaces(text, numberEnd);
+            }
+            if (from <= 0 || to < from) {
+                return null;
+            }
+            bounds.add(from);
+            bounds.add(to);
+            if (i == text.length()) {
+                break;
+            }
+            if (text.charAt(i) != ',') {
+                return null;
+            }
+            i++;
+        }
+        return new IndexSelection(bounds.stream().mapToInt(Integer::intValue).toArray(), false);
+    }
+
+    private static int skipDigits(String text, int i) {
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Reads the digits between start and end as an index.
+     *
+     * @return The index, or -1 if there are no digits or the index is too large.
+     */
+    private static int toIndex(String text, int start, int end) {
+        if (start == end) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return (int) value;
+    }
+
+    private static int skipSpaces(String text, int i) {
+        while (i < text.length() && text.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Resolves the selection against a task list.
+     *
+     * @param tasks The task list the indices refer to.
+     * @return The distinct 1-based indices of the selected tasks, in ascending order.
+     * @throws TaskFlowException If an index is out of range, or no task is selected.
+     */
+    public int[] resolve(TaskList tasks) throws TaskFlowException {
+        int size = tasks.getTaskSize();
+        BitSet selected = new BitSet(size + 1);
+        if (isDoneSelection) {
+            int index = 1;
+            for (Task task : tasks.getTasks()) {
+                if (task.isDone()) {
+                    selected.set(index);
+                }
+                index++;
+            }
+        }
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i + 1] > size) {
+                throw new TaskFlowException("Invalid index. "
+                        + "Please provide a valid index within the range 1 to " + size + ".");
+            }
+            selected.set(ranges[i], ranges[i + 1] + 1);
+        }
+        if (selected.isEmpty()) {
+            throw new TaskFlowException("No tasks match the selection.");
+        }
+        return selected.stream().toArray();
+    }
+}
@@ -1,28 +1,39 @@
 package TaskFlow.command;
 
-import TaskFlow.exception.TaskFlowException;
-import TaskFlow.storage.Storage;
 import TaskFlow.task.TaskList;
-import TaskFlow.ui.Ui;
 
 /**
- * A class that inherits from Command class.
- * Represents a command that list out all the archived tasks.
+ * A class that inherits from ListCommand class.
+ * Represents a command that list out all the archived tasks, whole or one page at a time.
  */
-public class ListArchiveCommand extends Command {
+public class ListArchiveCommand extends ListCommand {
+
+    /**
+     * Constructs a ListArchiveCommand displaying every archived task.
+     */
+    public ListArchiveCommand() {
+        super();
+    }
+
+    /**
+     * Constructs a ListArchiveCommand displaying a single page of archived tasks.
+     *
+     * @param page     The 1-based number of the page, or 0 for every task.
+     * @param pageSize The number of tasks on a page.
+     */
+    public ListArchiveCommand(int page, int pageSize) {
+        super(page, pageSize);
+    }
+
     /**
-     * Executes the command based on the given parameters.
+     * Returns the archived tasks, which this command displays.
      *
      * @param tasks         The list of tasks.
      * @param archiveTasks  The list of archived tasks.
-     * @param ui            The Ui to interact with the user.
-     * @param storage       The Storage to save tasks to a file.
-     * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @return The list of archived tasks.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
-        return ui.showList() + archiveTasks.list();
+    protected TaskList listed(TaskList tasks, TaskList archiveTasks) {
+        return archiveTasks;
     }
 }
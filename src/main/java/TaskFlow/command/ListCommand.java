@@ -1,29 +1,146 @@
 package TaskFlow.command;
 
+import java.util.List;
+
 import TaskFlow.exception.TaskFlowException;
 import TaskFlow.storage.Storage;
+import TaskFlow.task.Task;
 import TaskFlow.task.TaskList;
 import TaskFlow.ui.Ui;
 
 /**
  * A class that inherits from Command class.
- * Represents a command to display the list of tasks to the user.
+ * Represents a command to display the list of tasks to the user, whole or one page at a time.
+ * The listed tasks are copied, then written to the output one at a time once the lists are free again,
+ * so a long list is never held as one string and a slow output holds up no other command.
  */
 public class ListCommand extends Command {
 
+    /** Number of tasks on a page when only the page number is given. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final int page;
+    private final int pageSize;
+
+    /**
+     * Constructs a ListCommand displaying every task.
+     */
+    public ListCommand() {
+        this(0, 0);
+    }
+
+    /**
+     * Constructs a ListCommand displaying a single page of tasks.
+     *
+     * @param page     The 1-based number of the page, or 0 for every task.
+     * @param pageSize The number of tasks on a page.
+     */
+    public ListCommand(int page, int pageSize) {
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Checks if the command displays a single page rather than every task.
+     *
+     * @return true if a page was given, false otherwise.
+     */
+    public boolean isPaged() {
+        return page > 0;
+    }
+
+    /**
+     * Counts the pages of the list displayed by this command.
+     *
+     * @param tasks         The list of tasks.
+     * @param archiveTasks  The list of archived tasks.
+     * @param pageSize      The number of tasks on a page.
+     * @return The number of pages, at least one.
+     */
+    public int countPages(TaskList tasks, TaskList archiveTasks, int pageSize) {
+        return countPages(listed(tasks, archiveTasks).getTaskSize(), pageSize);
+    }
+
+    private static int countPages(int size, int pageSize) {
+        return Math.max(1, (int) ((size + (long) pageSize - 1) / pageSize));
+    }
+
     /**
-     * Executes the ListCommand by displaying the list of tasks to the user.
+     * Executes the ListCommand by writing the list of tasks to the output, one task at a time.
      *
      * @param tasks         The list of tasks.
      * @param archiveTasks  The list of archived tasks.
      * @param ui            The Ui to interact with the user.
      * @param storage       The Storage to save the tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out           Where the list is written.
+     * @throws TaskFlowException If the page is out of range, or the list cannot be written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
-        return ui.showList() + tasks.list();
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
+        respond(out, executeDeferred(tasks, archiveTasks, ui, storage, archived));
+    }
+
+    /**
+     * Executes the ListCommand by copying the tasks to be listed, and returns the listing to be written later.
+     *
+     * @param tasks         The list of tasks.
+     * @param archiveTasks  The list of archived tasks.
+     * @param ui            The Ui to interact with the user.
+     * @param storage       The Storage to save the tasks to a file.
+     * @param archived      The storage to save the archived tasks to a file.
+     * @return The listing.
+     * @throws TaskFlowException If the page is out of range.
+     */
+    @Override
+    public Ui.Message executeDeferred(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage,
+                                      Storage archived) throws TaskFlowException {
+        TaskList list = listed(tasks, archiveTasks);
+        int size = list.getTaskSize();
+        int from = 0;
+        int to = size;
+        int pageCount = 0;
+        if (page > 0) {
+            pageCount = countPages(size, pageSize);
+            if (page > pageCount) {
+                throw new TaskFlowException("Invalid page. Please provide a page within the range 1 to "
+                        + pageCount + ".");
+            }
+            from = (int) Math.min(size, (long) (page - 1) * pageSize);
+            to = (int) Math.min(size, (long) from + pageSize);
+        }
+        List<Task> listedTasks = list.copyRange(from, to);
+        int firstNumber = from + 1;
+        int pages = pageCount;
+        return out -> {
+            if (page > 0) {
+                ui.writeListPage(page, pages, out);
+            } else {
+                out.append(ui.showList());
+            }
+            TaskList.writeLines(out, listedTasks, firstNumber);
+        };
+    }
+
+    /**
+     * Returns true, as listing tasks, archived or not, only reads them.
+     *
+     * @return true.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns the list displayed by this command.
+     *
+     * @param tasks         The list of tasks.
+     * @param archiveTasks  The list of archived tasks.
+     * @return The list of tasks.
+     */
+    protected TaskList listed(TaskList tasks, TaskList archiveTasks) {
+        return tasks;
     }
 }
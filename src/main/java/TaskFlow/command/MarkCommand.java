@@ -2,6 +2,7 @@ package TaskFlow.command;
 
 import TaskFlow.exception.TaskFlowException;
 import TaskFlow.storage.Storage;
+import TaskFlow.task.Task;
 import TaskFlow.task.TaskList;
 import TaskFlow.ui.Ui;
 
@@ -23,24 +24,24 @@ public class MarkCommand extends Command {
     }
 
     /**
-     * Executes the MarkCommand by marking the specified task as done in the TaskList.
-     * Shows a message indicating the task has been marked as done.
-     * Saves the changes to the file.
+     * Marks the task at the index as done, saves the change and writes the confirmation to the output.
      *
-     * @param tasks         The TaskList that holds the list of tasks.
-     * @param archiveTasks  The list of archived tasks.
+     * @param tasks         The list of tasks.
+     * @param archiveTasks  The list of archive tasks.
      * @param ui            The Ui to interact with the user.
      * @param storage       The Storage to save the tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out           Where the confirmation is written.
+     * @throws TaskFlowException If the index is out of range, or the change cannot be saved or written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
         if (this.index <= tasks.getTaskSize() && this.index > 0) {
             tasks.mark(this.index);
-            storage.saveTask(tasks);
-            return ui.showMarkMsg(tasks.getTasks().get(this.index - 1));
+            Task markedTask = tasks.getTasks().get(this.index - 1);
+            storage.recordMark(tasks, this.index);
+            respond(out, o -> ui.writeMarkMsg(markedTask, o));
         } else {
             throw new TaskFlowException("Invalid index. "
                     + "Please provide a valid index within the range 1 to "
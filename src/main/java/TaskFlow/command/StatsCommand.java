@@ -0,0 +1,45 @@
+package TaskFlow.command;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.metrics.Metrics;
+import TaskFlow.storage.Storage;
+import TaskFlow.task.TaskList;
+import TaskFlow.ui.Ui;
+
+/**
+ * A class that inherits from Command class.
+ * Represents a command to display where the time of the commands run so far went, phase by phase,
+ * and how much the storage has written.
+ */
+public class StatsCommand extends Command {
+
+    /**
+     * Executes the StatsCommand by displaying the latencies recorded so far.
+     *
+     * @param tasks         The list of tasks.
+     * @param archiveTasks  The list of archive tasks.
+     * @param ui            The Ui to interact with the user.
+     * @param storage       The Storage to save the tasks to a file.
+     * @param archived      The storage to save the archived tasks to a file.
+     * @param out           Where the table of latencies is written.
+     * @throws TaskFlowException If the table cannot be written.
+     */
+    @Override
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
+        respond(out, o -> {
+            o.append(ui.showStatsMsg());
+            Metrics.writeTable(o);
+        });
+    }
+
+    /**
+     * Returns true, as the latencies are recorded outside the task lists.
+     *
+     * @return true.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -24,22 +24,21 @@ public class ToDoCommand extends Command {
     }
 
     /**
-     * Executes the ToDoCommand by adding the specified ToDo task to the TaskList.
-     * Shows a message indicating the task has been added.
-     * Saves the changes into the file.
+     * Adds the ToDo task to the TaskList, saves the change and writes the confirmation to the output.
      *
      * @param tasks         The TaskList that holds the list of tasks.
      * @param archiveTasks  The list of archived tasks.
      * @param ui            The Ui to interact with the user.
      * @param storage       The Storage to save the tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out           Where the confirmation is written.
+     * @throws TaskFlowException If the task already exists, or the change cannot be saved or written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
         tasks.add(toDo);
-        storage.saveTask(tasks);
-        return ui.showAddMsg(toDo, tasks.getTaskSize());
+        storage.recordAdd(tasks, toDo);
+        respond(out, o -> ui.writeAddMsg(toDo, tasks.getTaskSize(), o));
     }
 }
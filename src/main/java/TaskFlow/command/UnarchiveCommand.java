@@ -19,27 +19,28 @@ public class UnarchiveCommand extends Command {
     }
 
     /**
-     * Executes the command based on the given parameters.
+     * Moves the task at the index of the archive back to the task list, saves both lists and writes
+     * the confirmation to the output.
      *
-     * @param tasks         The TaskList that holds the list of tasks.
-     * @param archiveTasks  The list of archived tasks.
+     * @param tasks         The list of tasks.
+     * @param archiveTasks  The list of archive tasks.
      * @param ui            The Ui to interact with the user.
-     * @param storage       The Storage to save tasks to a file.
+     * @param storage       The Storage to save the tasks to a file.
      * @param archived      The storage to save the archived tasks to a file.
-     * @throws TaskFlowException If there is an error while executing the command.
+     * @param out           Where the confirmation is written.
+     * @throws TaskFlowException If the index is out of range, or the change cannot be saved or written.
      */
     @Override
-    public String execute(TaskList tasks, TaskList archiveTasks, Ui ui,
-                          Storage storage, Storage archived) throws TaskFlowException {
+    public void executeTo(TaskList tasks, TaskList archiveTasks, Ui ui, Storage storage, Storage archived,
+                          Appendable out) throws TaskFlowException {
         if (this.index <= tasks.getTaskSize() && this.index > 0) {
             Task taskToUnarchive = archiveTasks.getTasks().get(index - 1);
+            int archivedSize = archiveTasks.getTaskSize();
             tasks.add(taskToUnarchive);
-            String s = ui.showUnarchiveMsg(archiveTasks.getTasks().get(this.index - 1),
-                    archiveTasks.getTaskSize());
             archiveTasks.delete(this.index);
-            storage.saveTask(tasks);
-            archived.saveTask(archiveTasks);
-            return s;
+            storage.recordAdd(tasks, taskToUnarchive);
+            archived.recordDelete(archiveTasks, taskToUnarchive);
+            respond(out, o -> ui.writeUnarchiveMsg(taskToUnarchive, archivedSize, o));
         } else {
             throw new TaskFlowException("Invalid index. \n"
                     + "Please provide a valid index within the range 1 to "
@@ -0,0 +1,29 @@
+package TaskFlow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records the execution of a parsed command against the task lists, rendering and persisting included.
+ * Disabled by default, like every TaskFlow event.
+ */
+@Name("TaskFlow.Command")
+@Label("Command")
+@Category({"TaskFlow", "Commands"})
+@Description("Records the execution of a parsed command against the task lists.")
+@Enabled(false)
+@StackTrace(false)
+public class CommandEvent extends Event {
+    @Label("Command Type")
+    @Description("The kind of command.")
+    public String commandType;
+
+    @Label("Task Count")
+    @Description("The number of tasks in the list after the command ran.")
+    public int taskCount;
+}
@@ -0,0 +1,226 @@
+package TaskFlow.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the latencies of the commands, phase by phase, and the amount of file writing behind them.
+ * Each kind of command has a row of histograms, one per phase, looked up through a ClassValue, so
+ * recording after the first command of a kind allocates nothing and takes no lock.
+ * The render and persist times of a command are collected on its thread while it executes, so that
+ * they can be told apart from the rest of its execution.
+ */
+public class Metrics {
+
+    /**
+     * Represents a phase of running a command.
+     */
+    public enum Phase {
+        /** Turning the input into a command. */
+        PARSE,
+        /** Changing or reading the tasks, without rendering or persisting. */
+        EXECUTE,
+        /** Writing the response to the output. */
+        RENDER,
+        /** Writing the changes to disk on the thread of the command. */
+        PERSIST
+    }
+
+    /** Row of the scripts, timed as a whole on top of the rows of their commands. */
+    public static final Row SCRIPT = new Row("script");
+    /** Row of the inputs that could not be parsed. */
+    public static final Row INVALID = new Row("invalid");
+
+    private static final int RENDER = 0;
+    private static final int PERSIST = 1;
+    private static final List<Row> ROWS = new CopyOnWriteArrayList<>(List.of(SCRIPT, INVALID));
+    private static final ClassValue<Row> ROWS_BY_COMMAND = new ClassValue<>() {
+        @Override
+        protected Row computeValue(Class<?> type) {
+            String name = type.getSimpleName().replace("Command", "").toLowerCase();
+            Row row = new Row(name);
+            ROWS.add(row);
+            return row;
+        }
+    };
+    // Render and persist time of the command running on each thread, reset when it starts.
+    private static final ThreadLocal<long[]> PENDING = ThreadLocal.withInitial(() -> new long[2]);
+    private static final AtomicLong BYTES_WRITTEN = new AtomicLong();
+    private static final AtomicLong FILES_REWRITTEN = new AtomicLong();
+
+    /**
+     * Returns the row of a kind of command.
+     *
+     * @param commandType The class of the command.
+     * @return The row, created on the first call for the class.
+     */
+    public static Row of(Class<?> commandType) {
+        return ROWS_BY_COMMAND.get(commandType);
+    }
+
+    /**
+     * Starts collecting the render and persist time of a command about to run on the current thread.
+     */
+    public static void startCommand() {
+        long[] pending = PENDING.get();
+        pending[RENDER] = 0;
+        pending[PERSIST] = 0;
+    }
+
+    /**
+     * Records the phases of a command that has run on the current thread.
+     * The time spent rendering and persisting is taken out of its execution time, and recorded if there was any.
+     *
+     * @param row          The row of the command.
+     * @param executeNanos The time the command took, rendering and persisting included.
+     */
+    public static void finishCommand(Row row, long executeNanos) {
+        long[] pending = PENDING.get();
+        // Most commands write nothing to disk; recording those zeros would hide the cost of the ones that do.
+        if (pending[RENDER] > 0) {
+            row.record(Phase.RENDER, pending[RENDER]);
+        }
+        if (pending[PERSIST] > 0) {
+            row.record(Phase.PERSIST, pending[PERSIST]);
+        }
+        row.record(Phase.EXECUTE, executeNanos - pending[RENDER] - pending[PERSIST]);
+    }
+
+    /**
+     * Adds time spent writing a response to the command running on the current thread.
+     *
+     * @param nanos The time spent.
+     */
+    public static void addRender(long nanos) {
+        PENDING.get()[RENDER] += nanos;
+    }
+
+    /**
+     * Records a write to disk, adding its time to the command running on the current thread, if any.
+     *
+     * @param nanos     The time spent.
+     * @param bytes     The number of bytes written.
+     * @param isRewrite true if a whole file was rewritten, false for an append or a patch.
+     */
+    public static void recordWrite(long nanos, long bytes, boolean isRewrite) {
+        PENDING.get()[PERSIST] += nanos;
+        BYTES_WRITTEN.addAndGet(bytes);
+        if (isRewrite) {
+            FILES_REWRITTEN.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to the task, archive and journal files.
+     *
+     * @return The number of bytes.
+     */
+    public static long getBytesWritten() {
+        return BYTES_WRITTEN.get();
+    }
+
+    /**
+     * Returns the number of times a whole task or archive file was rewritten.
+     *
+     * @return The number of rewrites.
+     */
+    public static long getFilesRewritten() {
+        return FILES_REWRITTEN.get();
+    }
+
+    /**
+     * Writes a table of the latencies, in microseconds, of every phase recorded so far.
+     *
+     * @param out Where the table is written.
+     * @throws IOException If the table cannot be written.
+     */
+    public static void writeTable(Appendable out) throws IOException {
+        out.append(String.format("%-12s %-8s %8s %10s %10s %10s%n", "command", "phase", "count", "p50 us", "p99 us",
+                "max us"));
+        for (Row row : ROWS) {
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = row.get(phase);
+                long count = histogram.getCount();
+                if (count > 0) {
+                    out.append(String.format("%-12s %-8s %8d %10.1f %10.1f %10.1f%n", row.name,
+                            phase.name().toLowerCase(), count, histogram.getPercentile(0.5) / 1000.0,
+                            histogram.getPercentile(0.99) / 1000.0, histogram.getMax() / 1000.0));
+                }
+            }
+        }
+        out.append(String.format("Storage: %d bytes written, %d files rewritten.%n", getBytesWritten(),
+                getFilesRewritten()));
+    }
+
+    /**
+     * Writes every latency recorded so far as JSON, for tools to read.
+     *
+     * @param out Where the JSON is written.
+     * @throws IOException If the JSON cannot be written.
+     */
+    public static void writeJson(Appendable out) throws IOException {
+        out.append("{\n  \"latencies\": [");
+        String separator = "\n";
+        for (Row row : ROWS) {
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = row.get(phase);
+                long count = histogram.getCount();
+                if (count > 0) {
+                    out.append(separator).append(String.format("    {\"command\": \"%s\", \"phase\": \"%s\", "
+                            + "\"count\": %d, \"p50Nanos\": %d, \"p99Nanos\": %d, \"maxNanos\": %d}", row.name,
+                            phase.name().toLowerCase(), count, histogram.getPercentile(0.5),
+                            histogram.getPercentile(0.99), histogram.getMax()));
+                    separator = ",\n";
+                }
+            }
+        }
+        out.append("\n  ],\n  \"bytesWritten\": ").append(Long.toString(getBytesWritten()))
+                .append(",\n  \"filesRewritten\": ").append(Long.toString(getFilesRewritten())).append("\n}\n");
+    }
+
+    /**
+     * Represents the histograms of a kind of command, one per phase.
+     */
+    public static class Row {
+        private final String name;
+        private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+        Row(String name) {
+            this.name = name;
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+
+        /**
+         * Returns the name of the kind of command, such as "list" for a ListCommand.
+         *
+         * @return The name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Records the latency of a phase.
+         *
+         * @param phase The phase.
+         * @param nanos The latency in nanoseconds.
+         */
+        public void record(Phase phase, long nanos) {
+            histograms[phase.ordinal()].record(nanos);
+        }
+
+        /**
+         * Returns the histogram of a phase.
+         *
+         * @param phase The phase.
+         * @return The histogram.
+         */
+        public LatencyHistogram get(Phase phase) {
+            return histograms[phase.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package TaskFlow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records a user input run by TaskFlow, from parsing to the response, as a single command or a script.
+ * Like the other TaskFlow events, it is disabled by default and is only enabled through the settings of a
+ * Flight Recorder recording, such as a copy of default.jfc with "TaskFlow.Run" enabled. Until then the JVM
+ * drops the event at its first check, so creating and committing it costs next to nothing.
+ */
+@Name("TaskFlow.Run")
+@Label("Run")
+@Category({"TaskFlow", "Commands"})
+@Description("Records a user input run by TaskFlow, from parsing to the response, as a single command or a script.")
+@Enabled(false)
+@StackTrace(false)
+public class RunEvent extends Event {
+    @Label("Command Type")
+    @Description("The kind of command, \"script\" for a script or \"invalid\" if the input could not be parsed.")
+    public String commandType;
+
+    @Label("Task Count")
+    @Description("The number of tasks in the list after the input ran.")
+    public int taskCount;
+}
@@ -0,0 +1,32 @@
+package TaskFlow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records the loading of a task or archive file, including the replay of its journal.
+ * Disabled by default; its fields are only filled in while a recording wants the event.
+ */
+@Name("TaskFlow.StorageLoad")
+@Label("Storage Load")
+@Category({"TaskFlow", "Storage"})
+@Description("Records the loading of a task file.")
+@Enabled(false)
+@StackTrace(false)
+public class StorageLoadEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Task Count")
+    public int taskCount;
+
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytesRead;
+}
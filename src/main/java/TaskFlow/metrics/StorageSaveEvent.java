@@ -0,0 +1,32 @@
+package TaskFlow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records the rewriting of a whole task or archive file, on whichever thread writes it.
+ * Disabled by default; its fields are only filled in while a recording wants the event.
+ */
+@Name("TaskFlow.StorageSave")
+@Label("Storage Save")
+@Category({"TaskFlow", "Storage"})
+@Description("Records the rewriting of a whole task file.")
+@Enabled(false)
+@StackTrace(false)
+public class StorageSaveEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Task Count")
+    public int taskCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytesWritten;
+}
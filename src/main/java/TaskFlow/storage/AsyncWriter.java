@@ -0,0 +1,169 @@
+package TaskFlow.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.task.Task;
+import TaskFlow.task.TaskList;
+
+/**
+ * Represents a background thread that writes the changes made to the tasks on behalf of a Storage.
+ * Changes requested while a write is in progress are coalesced into the next write, so a burst
+ * of commands costs a handful of writes and the thread running the commands never waits on disk.
+ * The tasks are copied when a save is requested, so a write never sees changes made after the request,
+ * such as those of a script that is later rolled back.
+ */
+public class AsyncWriter {
+
+    private final Storage storage;
+    private final DurabilityPolicy policy;
+    private final long intervalMillis;
+    private final Thread thread;
+
+    private List<Task> pendingTasks;
+    private boolean isFullSavePending;
+    private List<String> pendingRecords = new ArrayList<>();
+    private long requestedCount;
+    private long writtenCount;
+    private long flushTarget;
+    private long lastWriteMillis;
+    private TaskFlowException lastError;
+
+    /**
+     * Constructs an AsyncWriter and starts its thread.
+     *
+     * @param storage        The storage whose changes are written.
+     * @param policy         When the changes are written, anything but SYNC.
+     * @param intervalMillis The minimum time between writes for the INTERVAL policy.
+     */
+    public AsyncWriter(Storage storage, DurabilityPolicy policy, long intervalMillis) {
+        assert policy != DurabilityPolicy.SYNC : "SYNC writes do not need a writer thread";
+        this.storage = storage;
+        this.policy = policy;
+        this.intervalMillis = intervalMillis;
+        this.thread = new Thread(this::run, "storage-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Requests the whole TaskList, as it is now, to be written to the task file.
+     *
+     * @param tasks The TaskList to be written.
+     */
+    public void requestSave(TaskList tasks) {
+        List<Task> snapshot = tasks.snapshot();
+        synchronized (this) {
+            pendingTasks = snapshot;
+            isFullSavePending = true;
+            // The full save covers every record logged before it.
+            pendingRecords.clear();
+            requestedCount++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Requests a record to be appended to the journal.
+     *
+     * @param record The journal record.
+     */
+    public synchronized void requestAppend(String record) {
+        pendingRecords.add(record);
+        requestedCount++;
+        notifyAll();
+    }
+
+    /**
+     * Waits until every change requested so far has been written.
+     *
+     * @throws TaskFlowException If the last write failed.
+     */
+    public synchronized void flush() throws TaskFlowException {
+        flushTarget = requestedCount;
+        notifyAll();
+        try {
+            while (writtenCount < flushTarget) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (lastError != null) {
+            TaskFlowException error = lastError;
+            lastError = null;
+            throw error;
+        }
+    }
+
+    private synchronized boolean isReadyToWrite() {
+        if (requestedCount == writtenCount) {
+            return false;
+        }
+        switch (policy) {
+        case INTERVAL:
+            return writtenCount < flushTarget
+                    || System.currentTimeMillis() - lastWriteMillis >= intervalMillis;
+        case ON_EXIT:
+            return writtenCount < flushTarget;
+        default:
+            return true;
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<Task> tasks;
+            boolean isFullSave;
+            List<String> records;
+            long count;
+            synchronized (this) {
+                try {
+                    while (!isReadyToWrite()) {
+                        if (policy == DurabilityPolicy.INTERVAL && requestedCount > writtenCount) {
+                            wait(Math.max(1, lastWriteMillis + intervalMillis - System.currentTimeMillis()));
+                        } else {
+                            wait();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                tasks = pendingTasks;
+                isFullSave = isFullSavePending;
+                records = pendingRecords;
+                count = requestedCount;
+                isFullSavePending = false;
+                pendingRecords = new ArrayList<>();
+            }
+
+            TaskFlowException error = null;
+            try {
+                if (isFullSave) {
+                    storage.writeAll(tasks);
+                }
+                if (!records.isEmpty()) {
+                    storage.appendRecords(records);
+                }
+            } catch (TaskFlowException e) {
+                System.out.println(e.getMessage());
+                error = e;
+            } catch (RuntimeException e) {
+                // Reported like any other failed write, so the thread lives on and flush never waits forever.
+                error = new TaskFlowException("Error saving tasks: " + e);
+                error.initCause(e);
+                System.out.println(error.getMessage());
+            }
+
+            synchronized (this) {
+                if (error != null) {
+                    lastError = error;
+                }
+                writtenCount = count;
+                lastWriteMillis = System.currentTimeMillis();
+                notifyAll();
+            }
+        }
+    }
+}
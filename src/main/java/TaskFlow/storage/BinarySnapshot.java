@@ -0,0 +1,137 @@
+package TaskFlow.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.task.Deadline;
+import TaskFlow.task.Event;
+import TaskFlow.task.Task;
+import TaskFlow.task.ToDo;
+
+/**
+ * Encodes and decodes tasks in a compact binary snapshot format, so that they can be loaded
+ * straight from a memory-mapped file without any text parsing.
+ * The file starts with a magic number, a version and the task count, followed by one record
+ * per task: a type byte, a status byte ('X' or ' '), the due date in epoch seconds for deadlines,
+ * and length-prefixed UTF-8 strings for the description and, for events, the start and end times.
+ */
+public class BinarySnapshot {
+
+    private static final int MAGIC = 0x54464253;
+    private static final int VERSION = 1;
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final byte DONE = 'X';
+    private static final byte NOT_DONE = ' ';
+
+    /**
+     * Encodes the given tasks into a binary snapshot.
+     *
+     * @param tasks     The tasks to be encoded.
+     * @param fileIndex The index to be filled with the offset of every status byte, or null.
+     * @return The content of the snapshot file.
+     */
+    public static byte[] encode(List<Task> tasks, TaskFileIndex fileIndex) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tasks.size() * 32 + 12);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                if (task instanceof Deadline) {
+                    out.writeByte(DEADLINE);
+                } else if (task instanceof Event) {
+                    out.writeByte(EVENT);
+                } else {
+                    out.writeByte(TODO);
+                }
+                if (fileIndex != null) {
+                    fileIndex.addStatusOffset(out.size());
+                }
+                out.writeByte(task.isDone() ? DONE : NOT_DONE);
+                if (task instanceof Deadline) {
+                    out.writeLong(((Deadline) task).getDueEpochSecond());
+                }
+                writeString(out, task.getDescription());
+                if (task instanceof Event) {
+                    writeString(out, ((Event) task).getFrom());
+                    writeString(out, ((Event) task).getTo());
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory cannot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    /**
+     * Decodes the tasks of a binary snapshot.
+     *
+     * @param buffer    The content of the snapshot file, usually memory-mapped.
+     * @param fileIndex The index to be filled with the offset of every status byte, or null.
+     * @return The decoded tasks.
+     * @throws TaskFlowException If the snapshot is not in the expected format.
+     */
+    public static ArrayList<Task> decode(ByteBuffer buffer, TaskFileIndex fileIndex) throws TaskFlowException {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new TaskFlowException("Error loading tasks: unrecognised snapshot format.");
+            }
+            int count = buffer.getInt();
+            ArrayList<Task> tasks = new ArrayList<>(count);
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < count; i++) {
+                byte type = buffer.get();
+                if (fileIndex != null) {
+                    fileIndex.addStatusOffset(buffer.position());
+                }
+                boolean isDone = buffer.get() == DONE;
+                Task task;
+                switch (type) {
+                case TODO:
+                    task = new ToDo(readString(buffer, scratch));
+                    break;
+                case DEADLINE:
+                    long dueEpochSecond = buffer.getLong();
+                    task = new Deadline(readString(buffer, scratch), dueEpochSecond);
+                    break;
+                case EVENT:
+                    String description = readString(buffer, scratch);
+                    String from = readString(buffer, scratch);
+                    task = new Event(description, from, readString(buffer, scratch));
+                    break;
+                default:
+                    throw new TaskFlowException("Error loading tasks: unknown task type " + type + ".");
+                }
+                if (isDone) {
+                    task.markAsDone();
+                }
+                tasks.add(task);
+            }
+            return tasks;
+        } catch (RuntimeException e) {
+            throw new TaskFlowException("Error loading tasks: snapshot is corrupted.");
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, byte[] scratch) {
+        int length = buffer.getInt();
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,15 @@
+package TaskFlow.storage;
+
+/**
+ * Represents when the changes made to the tasks are written to disk.
+ */
+public enum DurabilityPolicy {
+    /** Writes on the thread that made the change, before the command returns. */
+    SYNC,
+    /** Writes in the background as soon as possible, coalescing changes made in the meantime. */
+    EVERY_COMMAND,
+    /** Writes in the background at most once per interval. */
+    INTERVAL,
+    /** Writes only when the program exits. */
+    ON_EXIT
+}
@@ -0,0 +1,243 @@
+package TaskFlow.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.metrics.Metrics;
+import TaskFlow.task.Task;
+
+/**
+ * Represents an append-only log of changes made to a task file.
+ * Each change is written as one line of the form "op | payload", so a mutation only costs
+ * a small append instead of a rewrite of the whole task file.
+ * Once the log grows past a size threshold, it is folded into a fresh snapshot in the background.
+ */
+public class Journal {
+
+    public static final String ADD = "A";
+    public static final String MARK = "M";
+    public static final String UNMARK = "U";
+    public static final String DELETE = "D";
+
+    private static final String SEPARATOR = " | ";
+
+    private final Path journalPath;
+    private final Path compactingPath;
+    private final long compactionThreshold;
+    private final ExecutorService compactor;
+    private BufferedWriter writer;
+    private long size;
+    private boolean isCompacting;
+    private TaskFlowException compactionError;
+
+    /**
+     * Constructs a Journal that logs the changes made to the given task file.
+     *
+     * @param filePath            The file path of the task file the journal belongs to.
+     * @param compactionThreshold The journal size in bytes after which it is compacted.
+     */
+    public Journal(String filePath, long compactionThreshold) {
+        this.journalPath = Path.of(filePath + ".journal");
+        this.compactingPath = Path.of(filePath + ".journal.old");
+        this.compactionThreshold = compactionThreshold;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a journal record for the given operation.
+     *
+     * @param op      The operation, one of ADD, MARK, UNMARK or DELETE.
+     * @param payload The task line of the task added, marked, unmarked or deleted.
+     * @return The journal record.
+     */
+    public static String record(String op, String payload) {
+        return op + SEPARATOR + payload;
+    }
+
+    /**
+     * Splits a journal record into its operation and payload.
+     *
+     * @param record The journal record.
+     * @return A two element array of operation and payload, or null if the record is malformed.
+     */
+    public static String[] parseRecord(String record) {
+        String[] parts = record.split(" \\| ", 2);
+        return parts.length == 2 ? parts : null;
+    }
+
+    /**
+     * Appends a record to the journal and flushes it to disk.
+     *
+     * @param record The record to be appended.
+     * @throws TaskFlowException If an error occurs while writing to the journal.
+     */
+    public synchronized void append(String record) throws TaskFlowException {
+        appendAll(List.of(record));
+    }
+
+    /**
+     * Appends a batch of records to the journal and flushes them to disk with a single write.
+     * A compaction that failed since the last append is reported here, once the records are written.
+     *
+     * @param records The records to be appended, in order.
+     * @throws TaskFlowException If an error occurs while writing to the journal, or the last compaction failed.
+     */
+    public synchronized void appendAll(List<String> records) throws TaskFlowException {
+        try {
+            if (writer == null) {
+                Files.createDirectories(journalPath.toAbsolutePath().getParent());
+                writer = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                size = Files.size(journalPath);
+            }
+            long start = System.nanoTime();
+            long previousSize = size;
+            for (String record : records) {
+                writer.write(record);
+                writer.write('\n');
+                size += TaskFileIndex.utf8Length(record) + 1;
+            }
+            writer.flush();
+            Metrics.recordWrite(System.nanoTime() - start, size - previousSize, false);
+        } catch (IOException e) {
+            throw new TaskFlowException("Error writing to journal: " + e.getMessage());
+        }
+        if (compactionError != null) {
+            TaskFlowException error = compactionError;
+            compactionError = null;
+            throw error;
+        }
+    }
+
+    /**
+     * Checks if the journal has grown past its threshold and is not already being compacted.
+     *
+     * @return true if the journal should be compacted, false otherwise.
+     */
+    public synchronized boolean needsCompaction() {
+        return !isCompacting && size >= compactionThreshold;
+    }
+
+    /**
+     * Reads all complete records of the journal, including those still waiting to be compacted.
+     * A trailing record without a line break is the result of an interrupted write and is ignored.
+     *
+     * @return The list of records in the order they were written.
+     * @throws TaskFlowException If an error occurs while reading the journal.
+     */
+    public synchronized List<String> readRecords() throws TaskFlowException {
+        List<String> records = new ArrayList<>();
+        try {
+            readRecords(compactingPath, records);
+            readRecords(journalPath, records);
+        } catch (IOException e) {
+            throw new TaskFlowException("Error reading journal: " + e.getMessage());
+        }
+        return records;
+    }
+
+    private static void readRecords(Path path, List<String> records) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        int start = 0;
+        int end;
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            if (end > start) {
+                records.add(content.substring(start, end));
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Starts a new journal and folds the current one into a snapshot on a background thread.
+     * The current journal is kept aside until the snapshot has been written, so that a crash
+     * during compaction loses nothing. Replaying it again over the new snapshot is harmless,
+     * because every record is keyed by the task it applies to.
+     *
+     * @param tasks   A copy of the tasks reflecting every record written so far, which no other thread changes.
+     * @param storage The storage that writes the snapshot.
+     * @throws TaskFlowException If an error occurs while starting the new journal.
+     */
+    public synchronized void compact(List<Task> tasks, Storage storage) throws TaskFlowException {
+        try {
+            closeWriter();
+            Files.move(journalPath, compactingPath, StandardCopyOption.REPLACE_EXISTING);
+            size = 0;
+            isCompacting = true;
+        } catch (IOException e) {
+            throw new TaskFlowException("Error compacting journal: " + e.getMessage());
+        }
+        compactor.execute(() -> {
+            try {
+                storage.writeSnapshot(tasks);
+                Files.deleteIfExists(compactingPath);
+                synchronized (this) {
+                    isCompacting = false;
+                }
+            } catch (IOException | TaskFlowException e) {
+                // The old journal is still needed, so no further compaction may replace it.
+                synchronized (this) {
+                    compactionError = new TaskFlowException("Error compacting journal: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for a running compaction to finish, so that its snapshot cannot overwrite a newer one.
+     */
+    public void awaitCompaction() {
+        try {
+            compactor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            assert false : "An empty task cannot fail";
+        }
+    }
+
+    /**
+     * Discards every record, after the full task list has been written to the task file.
+     * Callers must have waited for any running compaction with awaitCompaction first.
+     *
+     * @throws TaskFlowException If an error occurs while deleting the journal.
+     */
+    public synchronized void clear() throws TaskFlowException {
+        try {
+            closeWriter();
+            Files.deleteIfExists(journalPath);
+            Files.deleteIfExists(compactingPath);
+            size = 0;
+            isCompacting = false;
+            // The task file now holds what the failed compaction was to write.
+            compactionError = null;
+        } catch (IOException e) {
+            throw new TaskFlowException("Error clearing journal: " + e.getMessage());
+        }
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
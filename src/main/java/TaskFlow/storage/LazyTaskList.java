@@ -0,0 +1,182 @@
+package TaskFlow.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.task.BulkRemovable;
+import TaskFlow.task.Task;
+
+/**
+ * Represents a list of tasks backed by the raw lines of a text task file.
+ * Loading it only costs a scan for line breaks; a line is decoded into a Task each time it is
+ * accessed and never cached, so the heap stays flat however large the file grows.
+ * Tasks added or replaced afterwards are kept as Task objects.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess, BulkRemovable {
+
+    private final ByteBuffer source;
+    private int[] lineStarts;
+    private int[] lineLengths;
+    private Task[] tasks;
+    private int size;
+
+    /**
+     * Constructs a LazyTaskList over the lines of a text task file.
+     *
+     * @param source The content of the text file, usually memory-mapped.
+     */
+    public LazyTaskList(ByteBuffer source) {
+        this.source = source;
+        int capacity = 16;
+        lineStarts = new int[capacity];
+        lineLengths = new int[capacity];
+        tasks = new Task[capacity];
+
+        int limit = source.limit();
+        int start = 0;
+        while (start < limit) {
+            int end = start;
+            while (end < limit && source.get(end) != '\n') {
+                end++;
+            }
+            int textEnd = end > start && source.get(end - 1) == '\r' ? end - 1 : end;
+            ensureCapacity(size + 1);
+            lineStarts[size] = start;
+            lineLengths[size] = textEnd - start;
+            size++;
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Checks if the task at the given position is still an undecoded line of the file.
+     *
+     * @param index The 0-based position of the task.
+     * @return true if the task is only held as a raw line, false otherwise.
+     */
+    public boolean isRaw(int index) {
+        return tasks[index] == null;
+    }
+
+    /**
+     * Gets the offset in the file at which the line holding the task at the given position starts.
+     *
+     * @param index The 0-based position of a raw task.
+     * @return The byte offset of the line.
+     */
+    public int getLineStart(int index) {
+        return lineStarts[index];
+    }
+
+    /**
+     * Gets the raw UTF-8 bytes of the line holding the task at the given position.
+     *
+     * @param index The 0-based position of a raw task.
+     * @return The bytes of the line, without the line break.
+     */
+    public byte[] getRawLine(int index) {
+        assert isRaw(index) : "Only raw tasks have a line";
+        byte[] line = new byte[lineLengths[index]];
+        ByteBuffer view = source.duplicate();
+        view.position(lineStarts[index]);
+        view.get(line);
+        return line;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        if (tasks[index] != null) {
+            return tasks[index];
+        }
+        String line = new String(getRawLine(index), StandardCharsets.UTF_8);
+        try {
+            return Task.fromString(line);
+        } catch (TaskFlowException e) {
+            throw new IllegalStateException("Archived task cannot be read: " + line, e);
+        }
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        tasks[index] = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(lineStarts, index, lineStarts, index + 1, size - index);
+        System.arraycopy(lineLengths, index, lineLengths, index + 1, size - index);
+        System.arraycopy(tasks, index, tasks, index + 1, size - index);
+        tasks[index] = task;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        int moved = size - index - 1;
+        System.arraycopy(lineStarts, index + 1, lineStarts, index, moved);
+        System.arraycopy(lineLengths, index + 1, lineLengths, index, moved);
+        System.arraycopy(tasks, index + 1, tasks, index, moved);
+        size--;
+        tasks[size] = null;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at the given positions in a single sweep over the line arrays,
+     * without decoding any line.
+     *
+     * @param positions The distinct 0-based positions to remove, in ascending order.
+     */
+    @Override
+    public void removePositions(int[] positions) {
+        int next = 0;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (next < positions.length && positions[next] == i) {
+                next++;
+                continue;
+            }
+            lineStarts[count] = lineStarts[i];
+            lineLengths[count] = lineLengths[i];
+            tasks[count] = tasks[i];
+            count++;
+        }
+        Arrays.fill(tasks, count, size, null);
+        size = count;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > tasks.length) {
+            int newCapacity = Math.max(capacity, tasks.length * 2);
+            lineStarts = Arrays.copyOf(lineStarts, newCapacity);
+            lineLengths = Arrays.copyOf(lineLengths, newCapacity);
+            tasks = Arrays.copyOf(tasks, newCapacity);
+        }
+    }
+}
@@ -1,26 +1,47 @@
 package TaskFlow.storage;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 import TaskFlow.exception.TaskFlowException;
+import TaskFlow.metrics.Metrics;
+import TaskFlow.metrics.StorageLoadEvent;
+import TaskFlow.metrics.StorageSaveEvent;
 import TaskFlow.task.Task;
 import TaskFlow.task.TaskList;
 
 /**
  * Represents the storage for tasks in the Duke chatbot application.
  * Handles loading tasks from a file and saving tasks to a file.
+ * In journal mode, each change is appended to a journal instead of rewriting the whole file.
+ * Otherwise, marking and unmarking a task patch its status icon in place.
+ * Unless the durability policy is SYNC, changes are written by a background AsyncWriter.
+ * Tasks are kept in a text file, or optionally in a memory-mapped BinarySnapshot.
  */
 public class Storage {
 
-    private static final String DIRECTORY_PATH = "./data/";
+    private static final long COMPACTION_THRESHOLD = 1024 * 1024;
+    private static final String BINARY_SUFFIX = ".bin";
+    private static final boolean IS_WINDOWS = System.getProperty("os.name").startsWith("Windows");
     private String filePath;
-
+    private Journal journal;
+    private TaskFileIndex fileIndex = new TaskFileIndex();
+    private FileChannel channel;
+    private AsyncWriter writer;
+    private boolean isBinary;
+    private boolean isLazy;
+    private int batchDepth;
+    private boolean isBatchChanged;
+    private boolean isCompactionRequested;
 
     /**
      * Constructs a Storage object with the specified file path for storage.
@@ -31,61 +52,548 @@ public class Storage {
         this.filePath = filePath;
     }
 
+    /**
+     * Constructs a Storage object that optionally logs each change to a journal.
+     *
+     * @param filePath      The file path for storing tasks.
+     * @param isJournalMode true if changes are appended to a journal instead of rewriting the file.
+     */
+    public Storage(String filePath, boolean isJournalMode) {
+        this(filePath);
+        if (isJournalMode) {
+            this.journal = new Journal(filePath, COMPACTION_THRESHOLD);
+        }
+    }
+
+    /**
+     * Sets when the changes are written to disk.
+     * Any policy other than SYNC moves the writes to a background thread.
+     *
+     * @param policy         When the changes are written.
+     * @param intervalMillis The minimum time between writes for the INTERVAL policy.
+     */
+    public void setDurabilityPolicy(DurabilityPolicy policy, long intervalMillis) {
+        assert writer == null : "The durability policy can only be set once";
+        if (policy != DurabilityPolicy.SYNC) {
+            writer = new AsyncWriter(this, policy, intervalMillis);
+        }
+    }
+
+    /**
+     * Switches the task file to the binary snapshot format, stored next to the text file
+     * with a ".bin" suffix. The text file is imported if no binary snapshot exists yet, or if it is newer.
+     * Likewise, without this switch, a binary snapshot newer than the text file is imported from.
+     */
+    public void useBinarySnapshot() {
+        isBinary = true;
+    }
+
+    /**
+     * Makes load() return a LazyTaskList over the text file, which decodes each task only when
+     * it is accessed. Suits files that are large but rarely read, such as the archive.
+     * Binary snapshots and journals with records to replay are still loaded in full.
+     */
+    public void useLazyLoading() {
+        isLazy = true;
+    }
+
+    /**
+     * Starts a batch: changes recorded from now on are not written until the batch ends.
+     * Batches can be nested, such as a bulk command within a script; only the outermost one writes.
+     */
+    public void beginBatch() {
+        if (batchDepth++ == 0) {
+            isBatchChanged = false;
+        }
+    }
+
+    /**
+     * Ends a batch, writing the whole TaskList once if any change was recorded during the outermost batch.
+     *
+     * @param tasks The TaskList after the batch.
+     * @throws TaskFlowException If an error occurs during the saving process.
+     */
+    public void endBatch(TaskList tasks) throws TaskFlowException {
+        assert batchDepth > 0 : "Only a batch that has begun can end";
+        if (--batchDepth == 0 && isBatchChanged) {
+            isBatchChanged = false;
+            saveTask(tasks);
+        }
+    }
+
+    /**
+     * Ends the outermost batch, whose changes were rolled back.
+     * Nothing of the batch was written, but a background writer is still asked for a full save of the
+     * rolled back tasks, so that the file cannot be left holding any change that was undone.
+     *
+     * @param tasks The TaskList after the rollback.
+     */
+    public void abortBatch(TaskList tasks) {
+        batchDepth = 0;
+        isBatchChanged = false;
+        if (writer != null) {
+            writer.requestSave(tasks);
+        }
+    }
+
+    /**
+     * Waits until every change made so far has been written to disk.
+     *
+     * @throws TaskFlowException If a background write failed.
+     */
+    public void flush() throws TaskFlowException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
     /**
      * Loads tasks from the specified file.
+     * In journal mode, the changes logged since the last snapshot are replayed on top of it.
      *
-     * @return ArrayList of tasks loaded from the file.
+     * @return List of tasks loaded from the file.
      * @throws TaskFlowException If an error occurs during the loading process.
      */
-    public ArrayList<Task> load() throws TaskFlowException {
+    public List<Task> load() throws TaskFlowException {
+        StorageLoadEvent event = new StorageLoadEvent();
+        event.begin();
         File file = new File(filePath);
-        ArrayList<Task> tasks = new ArrayList<>();
+        Path binaryPath = Path.of(filePath + BINARY_SUFFIX);
+        List<String> records = journal == null ? List.of() : journal.readRecords();
+        List<Task> tasks;
 
-        // Create a new file if it doesn't exist
-        if (!file.exists()) {
+        boolean isFromBinary = Files.exists(binaryPath) && (isBinary
+                ? isNewerSnapshot(binaryPath, file.toPath()) : !isNewerSnapshot(file.toPath(), binaryPath));
+        if (isFromBinary) {
+            tasks = loadBinary(binaryPath);
+        } else if (!file.exists()) {
+            // Create a new file if it doesn't exist
             try {
+                file.getAbsoluteFile().getParentFile().mkdirs();
                 file.createNewFile();
             } catch (IOException e) {
                 throw new TaskFlowException("Error creating a new File: " + e.getMessage());
             }
+            tasks = new ArrayList<>();
+            fileIndex.reset();
+        } else if (isLazy && !isBinary && records.isEmpty()) {
+            tasks = loadLazily(file.toPath());
         } else {
-            try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    Task task = Task.fromString(line);
-                    tasks.add(task);
+            tasks = loadText(file.toPath());
+        }
+        if (isFromBinary != isBinary) {
+            // The tasks were imported from the other format, so the index does not match the file written next.
+            fileIndex.invalidate();
+        }
+
+        if (!records.isEmpty()) {
+            tasks = replay(tasks, records);
+        }
+        if (event.shouldCommit()) {
+            Path path = isFromBinary ? binaryPath : file.toPath();
+            event.path = path.toString();
+            event.taskCount = tasks.size();
+            event.bytesRead = path.toFile().length();
+            event.commit();
+        }
+        return tasks;
+    }
+
+    /**
+     * Checks which snapshot holds the latest tasks. Only the snapshot of the current format is written,
+     * so after the binary format is switched on or off, the other snapshot may be the newer one.
+     *
+     * @param current The snapshot of the current format.
+     * @param other   The snapshot of the other format.
+     * @return true if the current snapshot is to be loaded, false if the other one is newer.
+     * @throws TaskFlowException If the modification times cannot be read.
+     */
+    private static boolean isNewerSnapshot(Path current, Path other) throws TaskFlowException {
+        if (!Files.exists(other)) {
+            return true;
+        }
+        if (!Files.exists(current)) {
+            return false;
+        }
+        try {
+            return Files.getLastModifiedTime(other).compareTo(Files.getLastModifiedTime(current)) <= 0;
+        } catch (IOException e) {
+            throw new TaskFlowException("Error loading tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads tasks from a text file, one task per line, decoding large files in parallel.
+     *
+     * @param path The path of the text file.
+     * @return List of tasks loaded from the file.
+     * @throws TaskFlowException If an error occurs during the loading process.
+     */
+    private List<Task> loadText(Path path) throws TaskFlowException {
+        try {
+            byte[] bytes = Files.readAllBytes(path);
+            fileIndex.reset();
+            return TextSnapshot.decode(bytes, fileIndex);
+        } catch (IOException e) {
+            throw new TaskFlowException("Error loading tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads tasks from a memory-mapped binary snapshot.
+     *
+     * @param path The path of the binary snapshot.
+     * @return List of tasks loaded from the snapshot.
+     * @throws TaskFlowException If an error occurs during the loading process.
+     */
+    private List<Task> loadBinary(Path path) throws TaskFlowException {
+        ByteBuffer buffer = readBuffer(path);
+        fileIndex.reset();
+        return BinarySnapshot.decode(buffer, fileIndex);
+    }
+
+    /**
+     * Loads tasks from a text file as a LazyTaskList, which only scans for line breaks
+     * and decodes each task when it is accessed.
+     *
+     * @param path The path of the text file.
+     * @return List of tasks backed by the lines of the file.
+     * @throws TaskFlowException If an error occurs during the loading process.
+     */
+    private List<Task> loadLazily(Path path) throws TaskFlowException {
+        LazyTaskList tasks = new LazyTaskList(readBuffer(path));
+        fileIndex.reset();
+        for (int i = 0; i < tasks.size(); i++) {
+            fileIndex.addStatusOffset(tasks.getLineStart(i) + TextSnapshot.STATUS_OFFSET);
+        }
+        return tasks;
+    }
+
+    /**
+     * Maps a file into memory, so that reading it costs little more than the page faults.
+     * Windows cannot replace a file while it is mapped, so there the file is read instead.
+     *
+     * @param path The path of the file.
+     * @return The content of the file.
+     * @throws TaskFlowException If an error occurs during the reading process.
+     */
+    private static ByteBuffer readBuffer(Path path) throws TaskFlowException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = file.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new TaskFlowException("Error loading tasks: file is too large to be mapped.");
+            }
+            if (!IS_WINDOWS) {
+                return file.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && file.read(buffer) >= 0) {
+                // Keep reading until the whole file is in memory.
+            }
+            buffer.flip();
+            return buffer;
+        } catch (IOException e) {
+            throw new TaskFlowException("Error loading tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the journal records to the tasks loaded from the snapshot.
+     * Records are keyed by the task line, so they match tasks the way Task.equals does, by type and
+     * description; a todo and a deadline sharing a description are told apart.
+     * Records written before the task line was logged hold only a description, and apply to the first
+     * task with that description.
+     *
+     * @param tasks   The tasks loaded from the snapshot.
+     * @param records The journal records in the order they were written.
+     * @return The tasks with every record applied.
+     * @throws TaskFlowException If a logged task cannot be parsed.
+     */
+    private static List<Task> replay(List<Task> tasks, List<String> records)
+            throws TaskFlowException {
+        LinkedHashMap<Task, Task> tasksByKey = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            tasksByKey.put(task, task);
+        }
+
+        for (String record : records) {
+            String[] parts = Journal.parseRecord(record);
+            if (parts == null) {
+                continue;
+            }
+            String payload = parts[1];
+            Task task;
+            switch (parts[0]) {
+            case Journal.ADD:
+                task = Task.fromString(payload);
+                if (task != null) {
+                    tasksByKey.putIfAbsent(task, task);
                 }
-            } catch (IOException e) {
-                throw new TaskFlowException("Error loading tasks: " + e.getMessage());
+                break;
+            case Journal.MARK:
+                task = find(tasksByKey, payload);
+                if (task != null) {
+                    task.markAsDone();
+                }
+                break;
+            case Journal.UNMARK:
+                task = find(tasksByKey, payload);
+                if (task != null) {
+                    task.markAsUndone();
+                }
+                break;
+            case Journal.DELETE:
+                task = find(tasksByKey, payload);
+                if (task != null) {
+                    tasksByKey.remove(task);
+                }
+                break;
+            default:
+                break;
             }
         }
-        return tasks;
+        return new ArrayList<>(tasksByKey.values());
+    }
+
+    /**
+     * Finds the task a MARK, UNMARK or DELETE record refers to.
+     *
+     * @param tasksByKey The tasks replayed so far.
+     * @param payload    The task line of the record, or the description alone in older journals.
+     * @return The task, or null if there is none.
+     * @throws TaskFlowException If the task line cannot be parsed.
+     */
+    private static Task find(LinkedHashMap<Task, Task> tasksByKey, String payload) throws TaskFlowException {
+        if (payload.contains(" | ")) {
+            Task key = Task.fromString(payload);
+            return key == null ? null : tasksByKey.get(key);
+        }
+        for (Task task : tasksByKey.keySet()) {
+            if (task.getDescription().equals(payload)) {
+                return task;
+            }
+        }
+        return null;
     }
 
     /**
      * Saves the tasks in the provided TaskList to the specified file.
+     * In journal mode, the journal is cleared as the file now holds every change.
      *
      * @param tasks The TaskList containing tasks to be saved.
      * @throws TaskFlowException If an error occurs during the saving process.
      */
     public void saveTask(TaskList tasks) throws TaskFlowException {
-        File directory = new File(DIRECTORY_PATH);
+        if (writer != null) {
+            writer.requestSave(tasks);
+        } else {
+            writeAll(tasks.getTasks());
+        }
+    }
 
-        // Create a directory if it doesn't exist.
-        if (!directory.exists()) {
-            directory.mkdirs();
+    /**
+     * Writes every task to the file on the calling thread.
+     *
+     * @param tasks The tasks to be saved, which no other thread changes meanwhile.
+     * @throws TaskFlowException If an error occurs during the saving process.
+     */
+    void writeAll(List<Task> tasks) throws TaskFlowException {
+        if (journal != null) {
+            journal.awaitCompaction();
+        }
+        writeSnapshot(tasks);
+        if (journal != null) {
+            journal.clear();
         }
+    }
+
+    /**
+     * Persists a task that has just been added to the given TaskList.
+     *
+     * @param tasks The TaskList the task was added to.
+     * @param task  The task that was added.
+     * @throws TaskFlowException If an error occurs during the saving process.
+     */
+    public void recordAdd(TaskList tasks, Task task) throws TaskFlowException {
+        record(tasks, Journal.ADD, task.toString());
+    }
 
-        // Write the tasks in the list into the file.
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            ArrayList<Task> taskList = tasks.getTasks();
-            for (Task task : taskList) {
-                writer.write(task.toString());
-                writer.newLine();
+    /**
+     * Persists a task of the given TaskList that has just been marked as done.
+     *
+     * @param tasks The TaskList holding the task.
+     * @param index The 1-based index of the task that was marked as done.
+     * @throws TaskFlowException If an error occurs during the saving process.
+     */
+    public void recordMark(TaskList tasks, int index) throws TaskFlowException {
+        recordStatus(tasks, index, Journal.MARK);
+    }
+
+    /**
+     * Persists a task of the given TaskList that has just been marked as not done.
+     *
+     * @param tasks The TaskList holding the task.
+     * @param index The 1-based index of the task that was marked as not done.
+     * @throws TaskFlowException If an error occurs during the saving process.
+     */
+    public void recordUnmark(TaskList tasks, int index) throws TaskFlowException {
+        recordStatus(tasks, index, Journal.UNMARK);
+    }
+
+    /**
+     * Persists the new status of a task, by patching its status icon in place when possible.
+     *
+     * @param tasks The TaskList holding the task.
+     * @param index The 1-based index of the task.
+     * @param op    Journal.MARK or Journal.UNMARK.
+     * @throws TaskFlowException If an error occurs during the saving process.
+     */
+    private void recordStatus(TaskList tasks, int index, String op) throws TaskFlowException {
+        if (batchDepth > 0) {
+            isBatchChanged = true;
+            return;
+        }
+        Task task = tasks.getTasks().get(index - 1);
+        if (journal != null) {
+            record(tasks, op, task.toString());
+        } else if (writer != null || !patchStatus(tasks, index, task)) {
+            saveTask(tasks);
+        }
+    }
+
+    /**
+     * Overwrites the status icon of a task in the file with a single positional write.
+     *
+     * @param tasks The TaskList holding the task.
+     * @param index The 1-based index of the task.
+     * @param task  The task whose status changed.
+     * @return true if the file was patched, false if it has to be rewritten instead.
+     */
+    private boolean patchStatus(TaskList tasks, int index, Task task) {
+        if (!fileIndex.isValidFor(tasks.getTaskSize())) {
+            return false;
+        }
+        long offset = fileIndex.getStatusOffset(index);
+        try {
+            if (channel == null) {
+                Path path = Path.of(isBinary ? filePath + BINARY_SUFFIX : filePath);
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            // Check that the index still points at a status icon before overwriting it.
+            ByteBuffer current = ByteBuffer.allocate(1);
+            if (channel.read(current, offset) != 1 || (current.get(0) != 'X' && current.get(0) != ' ')) {
+                fileIndex.invalidate();
+                return false;
+            }
+            byte status = (byte) task.getStatusIcon().charAt(0);
+            long start = System.nanoTime();
+            channel.write(ByteBuffer.wrap(new byte[] {status}), offset);
+            Metrics.recordWrite(System.nanoTime() - start, 1, false);
+            return true;
+        } catch (IOException e) {
+            fileIndex.invalidate();
+            return false;
+        }
+    }
+
+    /**
+     * Persists a task that has just been removed from the given TaskList.
+     *
+     * @param tasks The TaskList the task was removed from.
+     * @param task  The task that was removed.
+     * @throws TaskFlowException If an error occurs during the saving process.
+     */
+    public void recordDelete(TaskList tasks, Task task) throws TaskFlowException {
+        record(tasks, Journal.DELETE, task.toString());
+    }
+
+    /**
+     * Appends a change to the journal, or rewrites the whole file when not in journal mode.
+     * During a batch, the change is only noted, to be written when the batch ends.
+     * A journal grown too large is compacted from a copy of the tasks, taken here on the command thread.
+     * With a background writer, it is instead replaced by a full save, which is written in order with
+     * the appends still pending, so no snapshot can be overwritten by an older one.
+     *
+     * @param tasks   The TaskList after the change.
+     * @param op      The journal operation.
+     * @param payload The journal payload.
+     * @throws TaskFlowException If an error occurs during the saving process.
+     */
+    private void record(TaskList tasks, String op, String payload) throws TaskFlowException {
+        if (batchDepth > 0) {
+            isBatchChanged = true;
+        } else if (journal == null) {
+            saveTask(tasks);
+        } else if (writer != null) {
+            writer.requestAppend(Journal.record(op, payload));
+            // The journal only shrinks once the writer gets to the save, so it is requested once.
+            boolean needsCompaction = journal.needsCompaction();
+            if (needsCompaction && !isCompactionRequested) {
+                saveTask(tasks);
+            }
+            isCompactionRequested = needsCompaction;
+        } else {
+            appendRecords(List.of(Journal.record(op, payload)));
+            if (journal.needsCompaction()) {
+                journal.compact(tasks.snapshot(), this);
+            }
+        }
+    }
+
+    /**
+     * Appends records to the journal.
+     *
+     * @param records The journal records.
+     * @throws TaskFlowException If an error occurs during the saving process.
+     */
+    void appendRecords(List<String> records) throws TaskFlowException {
+        journal.appendAll(records);
+    }
+
+    /**
+     * Writes the given tasks to a temporary file and moves it over the task file,
+     * so that the task file is never left half written.
+     * The AsyncWriter and journal compaction call this from a background thread, so they pass a copy
+     * of the tasks rather than a list that commands keep changing.
+     *
+     * @param tasks The tasks to be written.
+     * @throws TaskFlowException If an error occurs during the writing process.
+     */
+    void writeSnapshot(List<Task> tasks) throws TaskFlowException {
+        StorageSaveEvent event = new StorageSaveEvent();
+        event.begin();
+        Path path = Path.of(isBinary ? filePath + BINARY_SUFFIX : filePath);
+        Path tempPath = Path.of(path + ".tmp");
+        // Only SYNC writes without a journal patch the file, so only they need the index.
+        TaskFileIndex newIndex = journal == null ? fileIndex : null;
+        if (newIndex != null) {
+            newIndex.reset();
+        }
+        byte[] bytes = isBinary ? BinarySnapshot.encode(tasks, newIndex) : TextSnapshot.encode(tasks, newIndex);
+        try {
+            long start = System.nanoTime();
+            closeChannel();
+            // Create a directory if it doesn't exist.
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.write(tempPath, bytes);
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Metrics.recordWrite(System.nanoTime() - start, bytes.length, true);
+            if (event.shouldCommit()) {
+                event.path = path.toString();
+                event.taskCount = tasks.size();
+                event.bytesWritten = bytes.length;
+                event.commit();
             }
-            System.out.println("Tasks saved successfully.");
         } catch (IOException e) {
+            fileIndex.invalidate();
             throw new TaskFlowException("Error saving tasks to file: " + e.getMessage());
         }
     }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
 }
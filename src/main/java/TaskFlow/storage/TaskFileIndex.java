@@ -0,0 +1,100 @@
+package TaskFlow.storage;
+
+import java.util.Arrays;
+
+/**
+ * Represents the byte offset of every task's status icon in a task file.
+ * It lets a task's status icon be patched in place without rewriting the file.
+ */
+public class TaskFileIndex {
+
+    private long[] statusOffsets = new long[16];
+    private int taskCount;
+    private boolean isValid;
+
+    /**
+     * Clears the index, before it is rebuilt from a freshly read or written file.
+     */
+    public void reset() {
+        taskCount = 0;
+        isValid = true;
+    }
+
+    /**
+     * Marks the index as out of sync with the file, until it is rebuilt.
+     */
+    public void invalidate() {
+        isValid = false;
+    }
+
+    /**
+     * Records the offset of the status icon of the next task in the file.
+     *
+     * @param offset The byte offset of the status icon.
+     */
+    public void addStatusOffset(long offset) {
+        if (taskCount == statusOffsets.length) {
+            statusOffsets = Arrays.copyOf(statusOffsets, taskCount * 2);
+        }
+        statusOffsets[taskCount++] = offset;
+    }
+
+    /**
+     * Records the status offsets of another index after those already recorded.
+     *
+     * @param other The index whose offsets are appended.
+     */
+    public void append(TaskFileIndex other) {
+        if (taskCount + other.taskCount > statusOffsets.length) {
+            statusOffsets = Arrays.copyOf(statusOffsets, Math.max(taskCount + other.taskCount, taskCount * 2));
+        }
+        System.arraycopy(other.statusOffsets, 0, statusOffsets, taskCount, other.taskCount);
+        taskCount += other.taskCount;
+    }
+
+    /**
+     * Checks if the index can be used for a file holding the given number of tasks.
+     *
+     * @param taskCount The number of tasks the file should hold.
+     * @return true if the index is in sync with the file, false otherwise.
+     */
+    public boolean isValidFor(int taskCount) {
+        return isValid && this.taskCount == taskCount;
+    }
+
+    /**
+     * Gets the byte offset of the status icon of a task.
+     *
+     * @param index The 1-based index of the task.
+     * @return The byte offset of the status icon.
+     */
+    public long getStatusOffset(int index) {
+        assert index > 0 && index <= taskCount : "Index must be within the file";
+        return statusOffsets[index - 1];
+    }
+
+    /**
+     * Counts the bytes needed to encode the given string in UTF-8, without encoding it.
+     *
+     * @param s The string to be measured.
+     * @return The UTF-8 length of the string in bytes.
+     */
+    public static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
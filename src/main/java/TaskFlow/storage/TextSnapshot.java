@@ -0,0 +1,133 @@
+package TaskFlow.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.task.Task;
+
+/**
+ * Encodes and decodes tasks in the human-readable text format, one task per line.
+ * Large files are split into chunks at line boundaries and decoded in parallel.
+ */
+public class TextSnapshot {
+
+    /** Offset of the status icon within a line, after the type and " | ". */
+    public static final int STATUS_OFFSET = 4;
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * Encodes the given tasks into the text format.
+     * Tasks of a LazyTaskList that were never decoded are copied over as raw lines.
+     *
+     * @param tasks     The tasks to be encoded.
+     * @param fileIndex The index to be filled with the offset of every status icon, or null.
+     * @return The content of the text file.
+     */
+    public static byte[] encode(List<Task> tasks, TaskFileIndex fileIndex) {
+        byte[] lineSeparator = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tasks.size() * 32);
+        LazyTaskList lazyTasks = tasks instanceof LazyTaskList ? (LazyTaskList) tasks : null;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (fileIndex != null) {
+                fileIndex.addStatusOffset(bytes.size() + STATUS_OFFSET);
+            }
+            if (lazyTasks != null && lazyTasks.isRaw(i)) {
+                bytes.writeBytes(lazyTasks.getRawLine(i));
+            } else {
+                bytes.writeBytes(tasks.get(i).toString().getBytes(StandardCharsets.UTF_8));
+            }
+            bytes.writeBytes(lineSeparator);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the tasks of a text file.
+     * Files larger than one chunk are decoded on the common ForkJoinPool, chunk by chunk,
+     * and the chunks are merged back in file order.
+     *
+     * @param bytes     The content of the text file.
+     * @param fileIndex The index to be filled with the offset of every status icon.
+     * @return The decoded tasks.
+     * @throws TaskFlowException If a line cannot be decoded.
+     */
+    public static ArrayList<Task> decode(byte[] bytes, TaskFileIndex fileIndex) throws TaskFlowException {
+        List<Chunk> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < bytes.length) {
+            int end = Math.min(start + CHUNK_SIZE, bytes.length);
+            // Extend the chunk to the end of the line it stops in.
+            while (end < bytes.length && bytes[end - 1] != '\n') {
+                end++;
+            }
+            chunks.add(new Chunk(bytes, start, end));
+            start = end;
+        }
+
+        if (chunks.size() == 1) {
+            chunks.get(0).compute();
+        } else if (chunks.size() > 1) {
+            ForkJoinTask.invokeAll(chunks);
+        }
+
+        int taskCount = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.error != null) {
+                throw chunk.error;
+            }
+            taskCount += chunk.tasks.size();
+        }
+        ArrayList<Task> tasks = new ArrayList<>(taskCount);
+        for (Chunk chunk : chunks) {
+            tasks.addAll(chunk.tasks);
+            fileIndex.append(chunk.fileIndex);
+        }
+        return tasks;
+    }
+
+    /**
+     * Represents a range of whole lines of a text file, decoded as one unit of parallel work.
+     */
+    private static class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] bytes;
+        private final int start;
+        private final int end;
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private final TaskFileIndex fileIndex = new TaskFileIndex();
+        private TaskFlowException error;
+
+        Chunk(byte[] bytes, int start, int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            fileIndex.reset();
+            int lineStart = start;
+            try {
+                while (lineStart < end) {
+                    int lineEnd = lineStart;
+                    while (lineEnd < end && bytes[lineEnd] != '\n') {
+                        lineEnd++;
+                    }
+                    int textEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+                    String line = new String(bytes, lineStart, textEnd - lineStart, StandardCharsets.UTF_8);
+                    tasks.add(Task.fromString(line));
+                    fileIndex.addStatusOffset(lineStart + STATUS_OFFSET);
+                    lineStart = lineEnd + 1;
+                }
+            } catch (TaskFlowException e) {
+                error = e;
+            }
+        }
+    }
+}
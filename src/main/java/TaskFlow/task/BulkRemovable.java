@@ -0,0 +1,14 @@
+package TaskFlow.task;
+
+/**
+ * Represents a list of tasks that can remove many positions at once, faster than one at a time.
+ */
+public interface BulkRemovable {
+
+    /**
+     * Removes the tasks at the given positions, keeping the others in order.
+     *
+     * @param positions The distinct 0-based positions to remove, in ascending order.
+     */
+    void removePositions(int[] positions);
+}
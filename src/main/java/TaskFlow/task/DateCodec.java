@@ -0,0 +1,199 @@
+package TaskFlow.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+
+import TaskFlow.exception.TaskFlowException;
+
+/**
+ * Converts deadline dates between epoch seconds and the two text formats of the application:
+ * the input format "yyyy-MM-dd hh:mma", typed by users, and the display format
+ * "MMM dd yyyy 'at' hh:mma", shown in lists and written to the task file.
+ * Epoch seconds count the local date/time as if it were UTC, so they carry no time zone.
+ * The usual fixed-width dates are read and written by hand; anything else goes through shared
+ * formatters built once, which define the accepted formats.
+ */
+public class DateCodec {
+
+    private static final DateTimeFormatter INPUT_FORMAT = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("yyyy-MM-dd hh:mma")
+            .toFormatter();
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy 'at' hh:mma");
+    private static final String[] MONTH_NAMES = new String[12];
+    private static final String AM;
+    private static final String PM;
+    private static final int SECONDS_PER_DAY = 86400;
+
+    static {
+        // Take the locale-dependent texts from the formatters, so that both paths agree.
+        DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("MMM");
+        for (Month month : Month.values()) {
+            MONTH_NAMES[month.ordinal()] = monthFormat.format(month);
+        }
+        DateTimeFormatter amPmFormat = DateTimeFormatter.ofPattern("a");
+        AM = amPmFormat.format(LocalTime.of(1, 0));
+        PM = amPmFormat.format(LocalTime.of(13, 0));
+    }
+
+    /**
+     * Parses a date/time typed by the user in the format "yyyy-MM-dd hh:mma", ignoring case.
+     *
+     * @param text The date/time to be parsed.
+     * @return The date/time in epoch seconds.
+     * @throws TaskFlowException If the date/time is not in the expected format.
+     */
+    public static long parseInput(String text) throws TaskFlowException {
+        // yyyy-MM-dd hh:mm followed by AM or PM
+        if (text.length() == 16 + AM.length() && AM.length() == PM.length()
+                && text.charAt(4) == '-' && text.charAt(7) == '-' && text.charAt(10) == ' '
+                && text.charAt(13) == ':') {
+            long epochSecond = toEpochSecond(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2),
+                    digits(text, 11, 2), digits(text, 14, 2), amPm(text, 16, true));
+            if (epochSecond != Long.MIN_VALUE) {
+                return epochSecond;
+            }
+        }
+        try {
+            return toEpochSecond(LocalDateTime.parse(text, INPUT_FORMAT));
+        } catch (DateTimeParseException e) {
+            throw new TaskFlowException("Input date/time is not in expected format.\n"
+                    + "Please enter 'help' for more info.\n");
+        }
+    }
+
+    /**
+     * Parses a date/time in the display format "MMM dd yyyy 'at' hh:mma", as written to the task file.
+     *
+     * @param text The date/time to be parsed.
+     * @return The date/time in epoch seconds.
+     * @throws TaskFlowException If the date/time is not in the display format.
+     */
+    public static long parseDisplay(String text) throws TaskFlowException {
+        int month = 0;
+        while (month < MONTH_NAMES.length && !text.startsWith(MONTH_NAMES[month])) {
+            month++;
+        }
+        if (month < MONTH_NAMES.length) {
+            // MMM dd yyyy at hh:mm followed by AM or PM
+            int i = MONTH_NAMES[month].length();
+            if (text.length() == i + 20 + AM.length() && AM.length() == PM.length()
+                    && text.startsWith(" ", i) && text.startsWith(" ", i + 3) && text.startsWith(" at ", i + 8)
+                    && text.charAt(i + 14) == ':') {
+                long epochSecond = toEpochSecond(digits(text, i + 4, 4), month + 1, digits(text, i + 1, 2),
+                        digits(text, i + 12, 2), digits(text, i + 15, 2), amPm(text, i + 17, false));
+                if (epochSecond != Long.MIN_VALUE) {
+                    return epochSecond;
+                }
+            }
+        }
+        try {
+            return toEpochSecond(LocalDateTime.parse(text, DISPLAY_FORMAT));
+        } catch (DateTimeParseException e) {
+            throw new TaskFlowException("Error loading tasks: invalid deadline date " + text + ".");
+        }
+    }
+
+    /**
+     * Formats a date/time in the display format "MMM dd yyyy 'at' hh:mma".
+     *
+     * @param epochSecond The date/time in epoch seconds.
+     * @return The formatted date/time.
+     */
+    public static String formatDisplay(long epochSecond) {
+        LocalDateTime dateTime = toDateTime(epochSecond);
+        int year = dateTime.getYear();
+        if (year < 1000 || year > 9999) {
+            return DISPLAY_FORMAT.format(dateTime);
+        }
+        int hour = dateTime.getHour() % 12;
+        StringBuilder s = new StringBuilder(32);
+        s.append(MONTH_NAMES[dateTime.getMonthValue() - 1]).append(' ');
+        appendTwoDigits(s, dateTime.getDayOfMonth());
+        s.append(' ').append(year).append(" at ");
+        appendTwoDigits(s, hour == 0 ? 12 : hour);
+        s.append(':');
+        appendTwoDigits(s, dateTime.getMinute());
+        return s.append(dateTime.getHour() < 12 ? AM : PM).toString();
+    }
+
+    /**
+     * Converts epoch seconds back to a date/time.
+     *
+     * @param epochSecond The date/time in epoch seconds.
+     * @return The local date/time.
+     */
+    public static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts a date/time to epoch seconds.
+     *
+     * @param dateTime The local date/time.
+     * @return The date/time in epoch seconds.
+     */
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static void appendTwoDigits(StringBuilder s, int value) {
+        s.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Reads a fixed number of ASCII digits.
+     *
+     * @return The value of the digits, or -1 if one of the characters is not a digit.
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Reads the AM/PM marker.
+     *
+     * @return 0 for AM, 12 for PM, or -1 if the text is neither.
+     */
+    private static int amPm(String text, int start, boolean isCaseInsensitive) {
+        if (text.regionMatches(isCaseInsensitive, start, AM, 0, AM.length())) {
+            return 0;
+        }
+        if (text.regionMatches(isCaseInsensitive, start, PM, 0, PM.length())) {
+            return 12;
+        }
+        return -1;
+    }
+
+    /**
+     * Combines the fields read by hand, resolving them as the formatters would: a day past the end
+     * of the month becomes its last day.
+     *
+     * @return The date/time in epoch seconds, or Long.MIN_VALUE if a field is out of range.
+     */
+    private static long toEpochSecond(int year, int month, int day, int clockHour, int minute, int amPm) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31
+                || clockHour < 1 || clockHour > 12 || minute < 0 || minute > 59 || amPm < 0) {
+            return Long.MIN_VALUE;
+        }
+        int monthLength = Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year));
+        long epochDay = LocalDate.of(year, month, Math.min(day, monthLength)).toEpochDay();
+        int hour = clockHour % 12 + amPm;
+        return epochDay * SECONDS_PER_DAY + hour * 3600 + minute * 60;
+    }
+}
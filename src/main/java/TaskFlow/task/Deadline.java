@@ -1,21 +1,17 @@
 package TaskFlow.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 
 import TaskFlow.exception.TaskFlowException;
 
 /**
  * Represents a task with a deadline in the Duke chatbot application.
  * It is a subclass of the Task class.
+ * The due date is held once, in epoch seconds, and converted to text through DateCodec.
  */
 public class Deadline extends Task {
 
-    protected String by;
-
-    private LocalDateTime dueDate;
+    private final long dueEpochSecond;
 
     /**
      * Constructs a Deadline object with the specified description and deadline.
@@ -26,29 +22,36 @@ public class Deadline extends Task {
      */
     public Deadline(String description, String by) throws TaskFlowException {
         super(description);
-        this.by = by;
-        try {
-            // Set up a DateTimeFormatter to parse the date/time input in the expected format.
-            DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
-            builder.parseCaseInsensitive();
-            builder.appendPattern("yyyy-MM-dd hh:mma");
-            DateTimeFormatter format = builder.toFormatter();
-            this.dueDate = LocalDateTime.parse(by, format);
-        } catch (DateTimeParseException e) {
-            throw new TaskFlowException("Input date/time is not in expected format.\n"
-            + "Please enter 'help' for more info.\n");
-        }
+        this.dueEpochSecond = DateCodec.parseInput(by);
+    }
+
+    /**
+     * Constructs a Deadline object with an already parsed due date.
+     *
+     * @param description    The description of the deadline task.
+     * @param dueEpochSecond The due date of the deadline task, in epoch seconds.
+     */
+    public Deadline(String description, long dueEpochSecond) {
+        super(description);
+        this.dueEpochSecond = dueEpochSecond;
+    }
+
+    /**
+     * Gets the due date of the deadline task.
+     *
+     * @return The due date.
+     */
+    public LocalDateTime getDueDate() {
+        return DateCodec.toDateTime(dueEpochSecond);
     }
 
     /**
-     * Formats the provided due date using the pattern "MMM dd yyyy 'at' hh:mma".
+     * Gets the due date of the deadline task in epoch seconds, as defined by DateCodec.
      *
-     * @param dueDate The due date to be formatted.
-     * @return The formatted due date string.
+     * @return The due date in epoch seconds.
      */
-    public String formatter(LocalDateTime dueDate) {
-        DateTimeFormatter customFormat = DateTimeFormatter.ofPattern("MMM dd yyyy 'at' hh:mma");
-        return customFormat.format(dueDate);
+    public long getDueEpochSecond() {
+        return dueEpochSecond;
     }
 
     /**
@@ -58,6 +61,6 @@ public class Deadline extends Task {
      */
     @Override
     public String toString() {
-        return "D" + " | " + super.toString() + " | " + formatter(this.dueDate);
+        return "D" + " | " + super.toString() + " | " + DateCodec.formatDisplay(dueEpochSecond);
     }
 }
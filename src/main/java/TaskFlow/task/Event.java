@@ -22,6 +22,24 @@ public class Event extends Task {
         this.to = to;
     }
 
+    /**
+     * Gets the start time of the event.
+     *
+     * @return The start time.
+     */
+    public String getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the end time of the event.
+     *
+     * @return The end time.
+     */
+    public String getTo() {
+        return to;
+    }
+
     /**
      * Returns a string representation of the Event task.
      *
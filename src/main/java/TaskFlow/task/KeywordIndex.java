@@ -0,0 +1,150 @@
+package TaskFlow.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents a trigram index of the lowercased task descriptions, answering case-insensitive
+ * substring searches without reading every task.
+ * Only the tasks containing every trigram of a keyword are candidates, and each candidate is then
+ * checked in full, so a search costs time in the number of candidates rather than in the list size.
+ * Tasks are expected to be added in list order, as TaskList only ever appends.
+ */
+public class KeywordIndex {
+
+    /** Length of the shortest keyword the index can answer. */
+    public static final int GRAM_LENGTH = 3;
+
+    private final Map<Task, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Entry>> postings = new HashMap<>();
+
+    /**
+     * Adds a task after all the tasks already indexed.
+     *
+     * @param task The task to be indexed.
+     */
+    public void add(Task task) {
+        Entry entry = entries.get(task);
+        if (entry != null) {
+            // An identical task loaded from a file; it is listed once per copy.
+            entry.count++;
+            return;
+        }
+        entry = new Entry(task);
+        entries.put(task, entry);
+        for (long trigram : trigramsOf(task.getDescription().toLowerCase())) {
+            postings.computeIfAbsent(trigram, t -> new LinkedHashSet<>()).add(entry);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to be removed.
+     */
+    public void remove(Task task) {
+        Entry entry = entries.get(task);
+        if (entry == null) {
+            return;
+        }
+        if (--entry.count > 0) {
+            return;
+        }
+        entries.remove(task);
+        for (long trigram : trigramsOf(task.getDescription().toLowerCase())) {
+            Set<Entry> posting = postings.get(trigram);
+            posting.remove(entry);
+            if (posting.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Replaces an indexed task by an equal one, such as a fresh copy decoded by a lazy list.
+     *
+     * @param task The task to be returned by later searches.
+     */
+    public void replace(Task task) {
+        Entry entry = entries.get(task);
+        if (entry != null) {
+            entry.task = task;
+        }
+    }
+
+    /**
+     * Checks if the index can answer a search for the given keyword.
+     *
+     * @param keyword The keyword to search for.
+     * @return true if the keyword has at least one trigram, false otherwise.
+     */
+    public static boolean isSearchable(String keyword) {
+        return keyword.toLowerCase().length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain the given keyword, ignoring case.
+     * Candidates are taken from the rarest trigram of the keyword and kept only if they hold
+     * every other trigram and really contain the keyword.
+     *
+     * @param keyword A keyword for which isSearchable holds.
+     * @return The matching tasks, in list order.
+     */
+    public ArrayList<Task> find(String keyword) {
+        assert isSearchable(keyword) : "Keyword must have a trigram";
+        List<Set<Entry>> keywordPostings = new ArrayList<>();
+        for (long trigram : trigramsOf(keyword.toLowerCase())) {
+            Set<Entry> posting = postings.get(trigram);
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            keywordPostings.add(posting);
+        }
+        keywordPostings.sort(Comparator.comparingInt(Set::size));
+
+        // Postings keep the order in which tasks were added, so the matches come in list order.
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (Entry entry : keywordPostings.get(0)) {
+            boolean isCandidate = true;
+            for (int i = 1; i < keywordPostings.size() && isCandidate; i++) {
+                isCandidate = keywordPostings.get(i).contains(entry);
+            }
+            if (isCandidate && entry.task.containsKeyword(keyword)) {
+                for (int i = 0; i < entry.count; i++) {
+                    tasks.add(entry.task);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Gets the distinct trigrams of a lowercased string, each packed into a long.
+     */
+    private static Set<Long> trigramsOf(String lowered) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= lowered.length(); i++) {
+            trigrams.add(((long) lowered.charAt(i) << 32) | ((long) lowered.charAt(i + 1) << 16)
+                    | lowered.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Represents an indexed task, with the number of identical copies in the list.
+     */
+    private static class Entry {
+        private Task task;
+        private int count = 1;
+
+        Entry(Task task) {
+            this.task = task;
+        }
+    }
+}
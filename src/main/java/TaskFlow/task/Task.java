@@ -1,7 +1,5 @@
 package TaskFlow.task;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 import TaskFlow.exception.TaskFlowException;
@@ -27,6 +25,24 @@ public class Task {
         this.description = description;
     }
 
+    /**
+     * Returns the description of the task.
+     *
+     * @return The description of the task.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Checks if the task is done.
+     *
+     * @return true if the task is done, false otherwise.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
     /**
      * Returns the status icon of the task.
      *
@@ -75,11 +91,7 @@ public class Task {
             }
             return todo;
         case "D":
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy 'at' hh:mma");
-            LocalDateTime d = LocalDateTime.parse(date, formatter);
-            DateTimeFormatter customFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mma");
-            String formatted = customFormat.format(d);
-            Deadline dl = new Deadline(description, formatted);
+            Deadline dl = new Deadline(description, DateCodec.parseDisplay(date));
             if (status.equals("X")) {
                 dl.markAsDone();
             }
@@ -127,4 +139,15 @@ public class Task {
         Task t = (Task) obj;
         return Objects.equals(description, t.description);
     }
+
+    /**
+     * Returns a hash code consistent with equals, derived from the description only.
+     * Tasks of different types with the same description share a hash code but are not equal.
+     *
+     * @return The hash code of the task.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(description);
+    }
 }
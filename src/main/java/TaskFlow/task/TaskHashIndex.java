@@ -0,0 +1,43 @@
+package TaskFlow.task;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents a multiset of tasks, used by TaskList to detect duplicates in O(1).
+ * Tasks are keyed by Task.equals and Task.hashCode, so a hash collision between different tasks,
+ * such as a todo and a deadline sharing a description, is told apart without scanning the list.
+ * A task loaded more than once from a file is counted once per copy.
+ */
+public class TaskHashIndex {
+
+    private final Map<Task, Integer> counts = new HashMap<>();
+
+    /**
+     * Adds one occurrence of a task.
+     *
+     * @param task The task to be added.
+     */
+    public void add(Task task) {
+        counts.merge(task, 1, Integer::sum);
+    }
+
+    /**
+     * Removes one occurrence of a task.
+     *
+     * @param task The task to be removed.
+     */
+    public void remove(Task task) {
+        counts.computeIfPresent(task, (t, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Checks if a task equal to the given one is in the list.
+     *
+     * @param task The task to look for.
+     * @return true if an equal task is in the list, false otherwise.
+     */
+    public boolean contains(Task task) {
+        return counts.containsKey(task);
+    }
+}
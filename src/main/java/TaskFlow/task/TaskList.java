@@ -1,31 +1,44 @@
 package TaskFlow.task;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import TaskFlow.exception.TaskFlowException;
 
 /**
  * Represents a list of tasks in the Duke chatbot application.
+ * A TaskList is not synchronized: TaskFlow lets commands that only read it run side by side and gives
+ * every change the list to itself, and Storage writes a snapshot() of it from another thread.
  */
 public class TaskList {
 
-    private ArrayList<Task> tasks;
+    private List<Task> tasks;
+    /** Counts of the tasks, built on the first add so that loading a lazy list decodes nothing. */
+    private TaskHashIndex hashIndex;
+    /** Trigrams of the task descriptions, built by indexKeywords() and kept up to date from then on. */
+    private KeywordIndex keywordIndex;
+    /** Changes that undo those made since the transaction began, latest first; null outside a transaction. */
+    private Deque<Runnable> undoLog;
 
     /**
-     * Constructs an empty TaskList.
+     * Constructs an empty TaskList, backed by a TaskTree.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this.tasks = new TaskTree();
     }
 
     /**
-     * Constructs a TaskList with the given list of tasks.
+     * Constructs a TaskList backed by the given list of tasks.
      *
      * @param tasks The list of tasks.
      */
-    public TaskList(ArrayList<Task> tasks) {
+    public TaskList(List<Task> tasks) {
         this.tasks = tasks;
     }
 
@@ -38,11 +51,18 @@ public class TaskList {
      *                       being added into the list.
      */
     public void add(Task task) throws TaskFlowException {
-        if (tasks.contains(task)) {
+        if (contains(task)) {
             throw new TaskFlowException("Task with the same details already exists.\n"
                 + "Please try again.");
         } else {
             tasks.add(task);
+            hashIndex.add(task);
+            if (keywordIndex != null) {
+                keywordIndex.add(task);
+            }
+            if (undoLog != null) {
+                undoLog.push(() -> removeAt(tasks.size() - 1));
+            }
         }
     }
 
@@ -52,17 +72,179 @@ public class TaskList {
      * @param index The index of the task to be deleted.
      */
     public void delete(int index) {
-        tasks.remove(index - 1);
+        Task removed = removeAt(index - 1);
+        if (undoLog != null) {
+            undoLog.push(() -> insertAt(index - 1, removed));
+        }
+    }
+
+    /**
+     * Checks if the task list holds a task equal to the given one, through the index rather than a scan.
+     *
+     * @param task The task to look for.
+     * @return true if an equal task is in the list, false otherwise.
+     */
+    public boolean contains(Task task) {
+        if (hashIndex == null) {
+            hashIndex = new TaskHashIndex();
+            for (Task t : tasks) {
+                hashIndex.add(t);
+            }
+        }
+        return hashIndex.contains(task);
+    }
+
+    /**
+     * Deletes several tasks at once, compacting the list in a single sweep.
+     *
+     * @param indices The distinct 1-based indices of the tasks to be deleted, in ascending order.
+     * @return The deleted tasks, in list order.
+     */
+    public List<Task> deleteAll(int[] indices) {
+        int[] positions = new int[indices.length];
+        List<Task> removed = new ArrayList<>(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            positions[i] = indices[i] - 1;
+            removed.add(tasks.get(positions[i]));
+        }
+        if (tasks instanceof BulkRemovable) {
+            ((BulkRemovable) tasks).removePositions(positions);
+        } else {
+            // Move every remaining task into place, then drop the tail in one go.
+            int next = 0;
+            int count = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                if (next < positions.length && positions[next] == i) {
+                    next++;
+                } else {
+                    if (count != i) {
+                        tasks.set(count, tasks.get(i));
+                    }
+                    count++;
+                }
+            }
+            tasks.subList(count, tasks.size()).clear();
+        }
+        for (Task task : removed) {
+            if (hashIndex != null) {
+                hashIndex.remove(task);
+            }
+            if (keywordIndex != null) {
+                keywordIndex.remove(task);
+            }
+        }
+        if (undoLog != null) {
+            undoLog.push(() -> {
+                for (int i = 0; i < positions.length; i++) {
+                    insertAt(positions[i], removed.get(i));
+                }
+            });
+        }
+        return removed;
+    }
+
+    private Task removeAt(int position) {
+        Task removed = tasks.remove(position);
+        if (hashIndex != null) {
+            hashIndex.remove(removed);
+        }
+        if (keywordIndex != null) {
+            keywordIndex.remove(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Puts a task back at its former position. Only used while rolling back, when the keyword
+     * index, which relies on tasks being appended, has already been dropped.
+     */
+    private void insertAt(int position, Task task) {
+        assert keywordIndex == null : "The keyword index must be dropped before rolling back";
+        tasks.add(position, task);
+        if (hashIndex != null) {
+            hashIndex.add(task);
+        }
+    }
+
+    /**
+     * Starts a transaction: the changes made from now on can be undone together with rollback().
+     */
+    public void beginTransaction() {
+        undoLog = new ArrayDeque<>();
+    }
+
+    /**
+     * Ends the transaction, keeping its changes.
+     */
+    public void commit() {
+        undoLog = null;
+    }
+
+    /**
+     * Ends the transaction, undoing its changes in reverse order.
+     */
+    public void rollback() {
+        assert undoLog != null : "Only a transaction can be rolled back";
+        Deque<Runnable> log = undoLog;
+        // Stop logging first, as undoing a change makes a change of its own.
+        undoLog = null;
+        boolean isIndexed = keywordIndex != null;
+        keywordIndex = null;
+        while (!log.isEmpty()) {
+            log.pop().run();
+        }
+        if (isIndexed) {
+            indexKeywords();
+        }
     }
 
     /**
      * Lists all tasks in the task list.
      */
     public String list() {
-        String lists = IntStream.range(0, tasks.size())
-                .mapToObj(i -> (i + 1) + ". " + tasks.get(i).toString() + "\n")
-                .collect(Collectors.joining());
-        return lists;
+        StringBuilder lists = new StringBuilder();
+        try {
+            writeLines(lists, tasks, 1);
+        } catch (IOException e) {
+            // A StringBuilder never fails to append.
+            throw new UncheckedIOException(e);
+        }
+        return lists.toString();
+    }
+
+    /**
+     * Copies a range of the task list, such as a page to be written out once the list is free for other commands.
+     *
+     * @param from The 0-based position of the first task copied.
+     * @param to   The 0-based position after the last task copied, capped at the size of the list.
+     * @return The tasks in the range, in list order.
+     */
+    public List<Task> copyRange(int from, int to) {
+        int end = Math.min(to, tasks.size());
+        int start = Math.min(from, end);
+        // A sublist iterator looks up each task by position, which is O(log n) a task in a TaskTree.
+        Iterator<Task> iterator = tasks instanceof TaskTree
+                ? ((TaskTree) tasks).iterator(start) : tasks.subList(start, end).iterator();
+        List<Task> range = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            range.add(iterator.next());
+        }
+        return range;
+    }
+
+    /**
+     * Writes tasks one numbered line per task, without building the listing in memory first.
+     *
+     * @param out         Where the lines are written.
+     * @param tasks       The tasks to be written.
+     * @param firstNumber The number of the first task.
+     * @throws IOException If the lines cannot be written.
+     */
+    public static void writeLines(Appendable out, List<Task> tasks, int firstNumber) throws IOException {
+        int number = firstNumber;
+        for (Task task : tasks) {
+            out.append(Integer.toString(number++)).append(". ").append(task.toString()).append('\n');
+        }
     }
 
     /**
@@ -71,7 +253,7 @@ public class TaskList {
      * @param index The index of the task to be marked as done.
      */
     public void mark(int index) {
-        tasks.get(index - 1).markAsDone();
+        setDone(index, true);
     }
 
     /**
@@ -80,7 +262,25 @@ public class TaskList {
      * @param index The index of the task to be marked as undone.
      */
     public void unmark(int index) {
-        tasks.get(index - 1).markAsUndone();
+        setDone(index, false);
+    }
+
+    private void setDone(int index, boolean isDone) {
+        Task task = tasks.get(index - 1);
+        boolean wasDone = task.isDone();
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.markAsUndone();
+        }
+        // Write the task back, in case the backing list decodes a fresh copy on every access.
+        tasks.set(index - 1, task);
+        if (keywordIndex != null) {
+            keywordIndex.replace(task);
+        }
+        if (undoLog != null) {
+            undoLog.push(() -> setDone(index, wasDone));
+        }
     }
 
     /**
@@ -97,10 +297,19 @@ public class TaskList {
      *
      * @return The list of tasks.
      */
-    public ArrayList<Task> getTasks() {
+    public List<Task> getTasks() {
         return tasks;
     }
 
+    /**
+     * Copies the list of tasks, so that it can be written to disk on another thread while the list changes.
+     *
+     * @return The tasks, in list order.
+     */
+    public List<Task> snapshot() {
+        return new ArrayList<>(tasks);
+    }
+
     /**
      * Gets the description of a task based on its index.
      *
@@ -108,16 +317,33 @@ public class TaskList {
      * @return The description of the task.
      */
     public String getTaskDescription(int index) {
-        return this.tasks.get(index).description;
+        return this.tasks.get(index).getDescription();
+    }
+
+    /**
+     * Builds the trigram index of the task descriptions, which later finds are answered from.
+     * It changes the list, so it is called before the list is shared, rather than by the first find,
+     * which may run alongside other finds.
+     */
+    public void indexKeywords() {
+        keywordIndex = new KeywordIndex();
+        for (Task task : tasks) {
+            keywordIndex.add(task);
+        }
     }
 
     /**
      * Finds tasks in the list that contain the specified keyword in their descriptions.
+     * Once the list is indexed, keywords of three or more characters are answered by the trigram index;
+     * shorter ones, or any keyword before then, scan the list.
      *
      * @param keyword The keyword to search for in task descriptions.
      * @return An ArrayList of tasks containing the specified keyword.
      */
     public ArrayList<Task> findTasksByKeyword(String keyword) {
+        if (keywordIndex != null && KeywordIndex.isSearchable(keyword)) {
+            return keywordIndex.find(keyword);
+        }
         ArrayList<Task> matchingTask = tasks.stream()
                 .filter(task -> task.containsKeyword(keyword))
                 .collect(Collectors.toCollection(ArrayList::new));
@@ -0,0 +1,296 @@
+package TaskFlow.task;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Represents a list of tasks stored in a balanced order-statistic tree (an implicit treap).
+ * Every node records the size of its subtree, so getting, inserting and removing a task by
+ * position all take O(log n), wherever the position is, instead of shifting the tail of an array.
+ */
+public class TaskTree extends AbstractList<Task> implements BulkRemovable {
+
+    /** Removing more than one task in this many rebuilds the tree rather than removing them one by one. */
+    private static final int REBUILD_FACTOR = 16;
+
+    private final Random random = new Random();
+    private Node root;
+    // Results of the last split, as a pair of subtrees.
+    private Node splitLeft;
+    private Node splitRight;
+
+    /**
+     * Constructs an empty TaskTree.
+     */
+    public TaskTree() {
+    }
+
+    /**
+     * Constructs a TaskTree holding the given tasks, in order, in O(n).
+     *
+     * @param tasks The tasks to be held.
+     */
+    public TaskTree(Collection<? extends Task> tasks) {
+        Task[] array = tasks.toArray(new Task[0]);
+        root = build(array, 0, array.length);
+    }
+
+    private Node build(Task[] array, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node node = new Node(array[middle], random.nextInt());
+        node.left = build(array, from, middle);
+        node.right = build(array, middle + 1, to);
+        node.size = to - from;
+        // Both subtrees are heaps already; sift this priority down to make the whole subtree one.
+        // Only priorities move, so the order of the tasks is untouched.
+        Node current = node;
+        while (true) {
+            Node larger = current.left;
+            if (current.right != null && (larger == null || current.right.priority > larger.priority)) {
+                larger = current.right;
+            }
+            if (larger == null || larger.priority <= current.priority) {
+                break;
+            }
+            int priority = current.priority;
+            current.priority = larger.priority;
+            larger.priority = priority;
+            current = larger;
+        }
+        return node;
+    }
+
+    @Override
+    public Task get(int index) {
+        return nodeAt(index).task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Node node = nodeAt(index);
+        Task previous = node.task;
+        node.task = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        split(root, index);
+        Node right = splitRight;
+        root = merge(merge(splitLeft, new Node(task, random.nextInt())), right);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        split(root, index);
+        Node left = splitLeft;
+        split(splitRight, 1);
+        root = merge(left, splitRight);
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at the given positions. A few positions are removed one by one, in O(log n) each;
+     * many are removed by rebuilding the tree from the remaining tasks in a single O(n) sweep.
+     *
+     * @param positions The distinct 0-based positions to remove, in ascending order.
+     */
+    @Override
+    public void removePositions(int[] positions) {
+        int size = size();
+        if (positions.length * REBUILD_FACTOR < size) {
+            for (int i = positions.length - 1; i >= 0; i--) {
+                remove(positions[i]);
+            }
+            return;
+        }
+        Task[] remaining = new Task[size - positions.length];
+        int next = 0;
+        int position = 0;
+        int count = 0;
+        for (Task task : this) {
+            if (next < positions.length && positions[next] == position) {
+                next++;
+            } else {
+                remaining[count++] = task;
+            }
+            position++;
+        }
+        root = build(remaining, 0, remaining.length);
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns an iterator walking the tree in order, in O(1) amortised per task.
+     *
+     * @return An iterator over the tasks, in order.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Returns an iterator walking the tree in order from a position. Reaching the position costs O(log n),
+     * after which each task costs O(1) amortised, unlike the iterator of a sublist, which looks up every task.
+     *
+     * @param from The 0-based position of the first task returned, at most the size of the tree.
+     * @return An iterator over the tasks from that position, in order.
+     */
+    public Iterator<Task> iterator(int from) {
+        if (from < 0 || from > size()) {
+            throw new IndexOutOfBoundsException("Index: " + from + ", Size: " + size());
+        }
+        // The path holds the nodes still to be returned whose left subtrees are done, the next one on top.
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int index = from;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index <= leftSize) {
+                path.push(node);
+                if (index == leftSize) {
+                    break;
+                }
+                node = node.left;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return new Iterator<Task>() {
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = path.pop();
+                for (Node next = node.right; next != null; next = next.left) {
+                    path.push(next);
+                }
+                return node.task;
+            }
+        };
+    }
+
+    private Node nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Splits a subtree into its first count tasks and the rest, left in splitLeft and splitRight.
+     */
+    private void split(Node node, int count) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        int leftSize = size(node.left);
+        if (leftSize < count) {
+            split(node.right, count - leftSize - 1);
+            node.right = splitLeft;
+            node.update();
+            splitLeft = node;
+        } else {
+            split(node.left, count);
+            node.left = splitRight;
+            node.update();
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Joins two subtrees, with all the tasks of the first one coming before those of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Represents a task in the tree, with the size of the subtree rooted at it.
+     */
+    private static class Node {
+        private Task task;
+        private int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(Task task, int priority) {
+            this.task = task;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
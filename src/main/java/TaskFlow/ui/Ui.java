@@ -1,23 +1,36 @@
 package TaskFlow.ui;
 
-import java.util.ArrayList;
-import java.util.Scanner;
+import java.io.IOException;
+import java.util.List;
 
 import TaskFlow.task.Task;
 
 /**
  * The UI component for the Decoder.
- * Handles interactions with the user, such as reading commands and displaying messages.
+ * Handles interactions with the user by building the messages displayed to them.
+ * Each message about tasks has a write method, which appends it to an output supplied by the caller, such as
+ * the response of a command, so the message is never built as a String of its own. The show methods build
+ * the same messages as Strings, in a buffer that is reused from one message to the next, one buffer per thread.
  */
 public class Ui {
 
-    private Scanner scanner;
+    /** Buffers grown past this capacity, such as by a long error, are not kept for the next message. */
+    private static final int MAX_KEPT_CAPACITY = 4096;
+
+    private final ThreadLocal<StringBuilder> buffer = ThreadLocal.withInitial(() -> new StringBuilder(256));
 
     /**
-     * Constructs a Ui object and initializes the Scanner for user input.
+     * Represents a message written to an output, such as a call to one of the write methods of Ui.
      */
-    public Ui() {
-        this.scanner = new Scanner(System.in);
+    public interface Message {
+
+        /**
+         * Writes the message.
+         *
+         * @param out Where the message is written.
+         * @throws IOException If the message cannot be written.
+         */
+        void writeTo(Appendable out) throws IOException;
     }
 
     /**
@@ -47,8 +60,20 @@ public class Ui {
      * @return A message indicating that a task has been added successfully.
      */
     public String showAddMsg(Task task, int index) {
-        return "Got it. I've added this task: \n" + task.toString() + "\n"
-                + String.format("Now you have %d tasks in the list.\n", index);
+        return render(out -> writeAddMsg(task, index, out));
+    }
+
+    /**
+     * Writes a message indicating that a task has been added successfully.
+     *
+     * @param task  The task that has been added.
+     * @param index The current number of tasks in the list.
+     * @param out   Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeAddMsg(Task task, int index, Appendable out) throws IOException {
+        out.append("Got it. I've added this task: \n").append(task.toString()).append('\n')
+                .append("Now you have ").append(Integer.toString(index)).append(" tasks in the list.\n");
     }
 
     /**
@@ -59,8 +84,20 @@ public class Ui {
      * @return A message indicating that a task has been deleted successfully.
      */
     public String showDeleteMsg(Task deletedTask, int index) {
-        return "Noted. I've removed this task:\n" + deletedTask.toString() + "\n"
-                + String.format("Now you have %d tasks in the list.\n", (index - 1));
+        return render(out -> writeDeleteMsg(deletedTask, index, out));
+    }
+
+    /**
+     * Writes a message indicating that a task has been deleted successfully.
+     *
+     * @param deletedTask The task that has been deleted.
+     * @param index       The number of tasks in the list before the deletion.
+     * @param out         Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeDeleteMsg(Task deletedTask, int index, Appendable out) throws IOException {
+        out.append("Noted. I've removed this task:\n").append(deletedTask.toString()).append('\n')
+                .append("Now you have ").append(Integer.toString(index - 1)).append(" tasks in the list.\n");
     }
 
     /**
@@ -70,7 +107,18 @@ public class Ui {
      * @return a message indicating that a task has been marked as done.
      */
     public String showMarkMsg(Task task) {
-        return "Nice! I've marked this task as done: \n" + task.toString() + "\n";
+        return render(out -> writeMarkMsg(task, out));
+    }
+
+    /**
+     * Writes a message indicating that a task has been marked as done.
+     *
+     * @param task The task that has been marked as done.
+     * @param out  Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeMarkMsg(Task task, Appendable out) throws IOException {
+        out.append("Nice! I've marked this task as done: \n").append(task.toString()).append('\n');
     }
 
     /**
@@ -80,7 +128,18 @@ public class Ui {
      * @return a message indicating that a task has been marked as not done.
      */
     public String showUnmarkMsg(Task task) {
-        return "OK, I've marked this task as not done yet: \n" + task.toString() + "\n";
+        return render(out -> writeUnmarkMsg(task, out));
+    }
+
+    /**
+     * Writes a message indicating that a task has been marked as not done.
+     *
+     * @param task The task that has been marked as not done.
+     * @param out  Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeUnmarkMsg(Task task, Appendable out) throws IOException {
+        out.append("OK, I've marked this task as not done yet: \n").append(task.toString()).append('\n');
     }
 
     /**
@@ -92,6 +151,8 @@ public class Ui {
         return "bye: Terminate the program.\n"
                 + "list: Display the list of tasks.\n"
                 + "list <archive>: Display the list of archived tasks.\n"
+                + "list [archive] --page <N> [--size <K>]:\n"
+                + "Display page N of the list, K tasks per page.\n"
                 + "mark <index>: Mark a task as done.\n"
                 + "unmark <index>: Mark a task as not done.\n"
                 + "todo <description>: Add a todo task.\n"
@@ -100,7 +161,147 @@ public class Ui {
                 + "event <description> /from <startDate> /to <endDate>:\n"
                 + "Add an event task.\n"
                 + "find <keyword>: Find a list of tasks that match\n"
-                + "with the keyword.\n";
+                + "with the keyword.\n"
+                + "mark, unmark, delete, archive and unarchive also take\n"
+                + "several indices, such as 3,7,9 or 1-500, or 'done'.\n"
+                + "stats: Display how long commands took, phase by phase.\n";
+    }
+
+    /**
+     * Prints a message indicating that several tasks have been marked as done.
+     *
+     * @param count The number of tasks marked as done.
+     * @return A message indicating that the tasks have been marked as done.
+     */
+    public String showBulkMarkMsg(int count) {
+        return render(out -> writeBulkMarkMsg(count, out));
+    }
+
+    /**
+     * Writes a message indicating that several tasks have been marked as done.
+     *
+     * @param count The number of tasks marked as done.
+     * @param out   Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeBulkMarkMsg(int count, Appendable out) throws IOException {
+        out.append("Nice! I've marked ").append(Integer.toString(count)).append(" tasks as done.\n");
+    }
+
+    /**
+     * Prints a message indicating that several tasks have been marked as not done.
+     *
+     * @param count The number of tasks marked as not done.
+     * @return A message indicating that the tasks have been marked as not done.
+     */
+    public String showBulkUnmarkMsg(int count) {
+        return render(out -> writeBulkUnmarkMsg(count, out));
+    }
+
+    /**
+     * Writes a message indicating that several tasks have been marked as not done.
+     *
+     * @param count The number of tasks marked as not done.
+     * @param out   Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeBulkUnmarkMsg(int count, Appendable out) throws IOException {
+        out.append("OK, I've marked ").append(Integer.toString(count)).append(" tasks as not done yet.\n");
+    }
+
+    /**
+     * Prints a message indicating that several tasks have been deleted.
+     *
+     * @param count     The number of tasks deleted.
+     * @param remaining The number of tasks left in the list.
+     * @return A message indicating that the tasks have been deleted.
+     */
+    public String showBulkDeleteMsg(int count, int remaining) {
+        return render(out -> writeBulkDeleteMsg(count, remaining, out));
+    }
+
+    /**
+     * Writes a message indicating that several tasks have been deleted.
+     *
+     * @param count     The number of tasks deleted.
+     * @param remaining The number of tasks left in the list.
+     * @param out       Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeBulkDeleteMsg(int count, int remaining, Appendable out) throws IOException {
+        out.append("Noted. I've removed ").append(Integer.toString(count)).append(" tasks.\n")
+                .append("Now you have ").append(Integer.toString(remaining)).append(" tasks in the list.\n");
+    }
+
+    /**
+     * Prints a message indicating that several tasks have been archived.
+     *
+     * @param count    The number of tasks archived.
+     * @param archived The number of tasks in the archive.
+     * @return A message indicating that the tasks have been archived.
+     */
+    public String showBulkArchiveMsg(int count, int archived) {
+        return render(out -> writeBulkArchiveMsg(count, archived, out));
+    }
+
+    /**
+     * Writes a message indicating that several tasks have been archived.
+     *
+     * @param count    The number of tasks archived.
+     * @param archived The number of tasks in the archive.
+     * @param out      Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeBulkArchiveMsg(int count, int archived, Appendable out) throws IOException {
+        out.append(Integer.toString(count)).append(" tasks have been archived successfully!\n")
+                .append("Now you have ").append(Integer.toString(archived)).append(" tasks in the archive list.\n");
+    }
+
+    /**
+     * Prints a message indicating that several tasks have been unarchived.
+     *
+     * @param count    The number of tasks unarchived.
+     * @param archived The number of tasks left in the archive.
+     * @return A message indicating that the tasks have been unarchived.
+     */
+    public String showBulkUnarchiveMsg(int count, int archived) {
+        return render(out -> writeBulkUnarchiveMsg(count, archived, out));
+    }
+
+    /**
+     * Writes a message indicating that several tasks have been unarchived.
+     *
+     * @param count    The number of tasks unarchived.
+     * @param archived The number of tasks left in the archive.
+     * @param out      Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeBulkUnarchiveMsg(int count, int archived, Appendable out) throws IOException {
+        out.append(Integer.toString(count)).append(" tasks have been unarchived successfully!\n")
+                .append("Now you have ").append(Integer.toString(archived)).append(" tasks in the archive list.\n");
+    }
+
+    /**
+     * Prints a message indicating that a script has been run and saved.
+     *
+     * @param commandCount The number of commands in the script.
+     * @return A message indicating that the script has been run.
+     */
+    public String showScriptMsg(int commandCount) {
+        return start().append("Ran ").append(commandCount).append(" commands from the script and saved the changes.\n")
+                .toString();
+    }
+
+    /**
+     * Prints a message indicating that a script failed and none of its changes were kept.
+     *
+     * @param lineNumber The 1-based number of the line that failed.
+     * @param e          The error message of that line.
+     * @return A message indicating that the script failed.
+     */
+    public String showScriptErrorMsg(int lineNumber, String e) {
+        return start().append("Line ").append(lineNumber).append(" of the script failed:\n").append(e)
+                .append("\nNo changes from the script were made.\n").toString();
     }
 
     /**
@@ -122,19 +323,69 @@ public class Ui {
         return "Here are the tasks in your list:\n";
     }
 
+    /**
+     * Prints a message indicating the start of the latency table.
+     *
+     * @return A message indicating the start of the latency table.
+     */
+    public String showStatsMsg() {
+        return "Here is where the time of your commands went so far:\n";
+    }
+
+    /**
+     * Prints a message indicating the start of a page of the task list.
+     *
+     * @param page      The 1-based number of the page.
+     * @param pageCount The number of pages in the list.
+     * @return A message indicating the start of the page.
+     */
+    public String showListPage(int page, int pageCount) {
+        return render(out -> writeListPage(page, pageCount, out));
+    }
+
+    /**
+     * Writes a message indicating the start of a page of the task list.
+     *
+     * @param page      The 1-based number of the page.
+     * @param pageCount The number of pages in the list.
+     * @param out       Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeListPage(int page, int pageCount, Appendable out) throws IOException {
+        out.append("Here are the tasks in your list (page ").append(Integer.toString(page)).append(" of ")
+                .append(Integer.toString(pageCount)).append("):\n");
+    }
+
     /**
      * Prints a list of tasks that match the specified keyword.
      *
      * @param matchingTasks The list of tasks that match the keyword.
      * @return a list of matching tasks.
      */
-    public String showFindMsg(ArrayList<Task> matchingTasks) {
-        String s = "";
-        s += "Here are the matching tasks in your list:\n";
-        for (int i = 0; i < matchingTasks.size(); i++) {
-            s += (i + 1) + "." + matchingTasks.get(i).toString() + "\n";
+    public String showFindMsg(List<Task> matchingTasks) {
+        // Sized for the usual length of a line, so that a long result is copied a few times at most.
+        StringBuilder s = new StringBuilder(64 + matchingTasks.size() * 48);
+        try {
+            writeFindMsg(matchingTasks, s);
+        } catch (IOException e) {
+            throw new AssertionError("A StringBuilder never fails to append", e);
+        }
+        return s.toString();
+    }
+
+    /**
+     * Writes a list of tasks that match the specified keyword, one line at a time.
+     *
+     * @param matchingTasks The list of tasks that match the keyword.
+     * @param out           Where the list is written.
+     * @throws IOException If the list cannot be written.
+     */
+    public void writeFindMsg(List<Task> matchingTasks, Appendable out) throws IOException {
+        out.append("Here are the matching tasks in your list:\n");
+        int number = 1;
+        for (Task task : matchingTasks) {
+            out.append(Integer.toString(number++)).append('.').append(task.toString()).append('\n');
         }
-        return s;
     }
 
     /**
@@ -145,10 +396,20 @@ public class Ui {
      * @return A message indicating that a task has been archived successfully.
      */
     public String showArchiveMsg(Task task, int index) {
-        return "This task has been archived successfully!\n"
-                + task.toString() + "\n"
-                + String.format("Now you have %d tasks in the archive list.\n", index)
-                + "\n";
+        return render(out -> writeArchiveMsg(task, index, out));
+    }
+
+    /**
+     * Writes a message indicating that a task has been archived successfully.
+     *
+     * @param task  The task that has been archived.
+     * @param index The current number of tasks in the archive.
+     * @param out   Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeArchiveMsg(Task task, int index, Appendable out) throws IOException {
+        out.append("This task has been archived successfully!\n").append(task.toString()).append('\n')
+                .append("Now you have ").append(Integer.toString(index)).append(" tasks in the archive list.\n\n");
     }
 
     /**
@@ -159,9 +420,45 @@ public class Ui {
      * @return A message indicating that a task has been unarchived successfully.
      */
     public String showUnarchiveMsg(Task task, int index) {
-        return "This task has been unarchived successfully!\n"
-                + task.toString() + "\n"
-                + String.format("Now you have %d tasks in the archive list.\n", (index - 1))
-                + "\n";
+        return render(out -> writeUnarchiveMsg(task, index, out));
+    }
+
+    /**
+     * Writes a message indicating that a task has been unarchived successfully.
+     *
+     * @param task  The task that has been unarchived.
+     * @param index The number of tasks in the archive before the task left it.
+     * @param out   Where the message is written.
+     * @throws IOException If the message cannot be written.
+     */
+    public void writeUnarchiveMsg(Task task, int index, Appendable out) throws IOException {
+        out.append("This task has been unarchived successfully!\n").append(task.toString()).append('\n')
+                .append("Now you have ").append(Integer.toString(index - 1)).append(" tasks in the archive list.\n\n");
+    }
+
+    /**
+     * Builds a message as a String, in the buffer of the current thread.
+     */
+    private String render(Message message) {
+        StringBuilder s = start();
+        try {
+            message.writeTo(s);
+        } catch (IOException e) {
+            throw new AssertionError("A StringBuilder never fails to append", e);
+        }
+        return s.toString();
+    }
+
+    /**
+     * Returns the buffer of the current thread, emptied for a new message.
+     */
+    private StringBuilder start() {
+        StringBuilder s = buffer.get();
+        if (s.capacity() > MAX_KEPT_CAPACITY) {
+            s = new StringBuilder(256);
+            buffer.set(s);
+        }
+        s.setLength(0);
+        return s;
     }
 }
@@ -0,0 +1,112 @@
+package TaskFlow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test class for testing the line protocol of the Server class and its concurrent clients.
+ */
+public class ServerTest {
+
+    private static final int CLIENTS = 8;
+    private static final int TASKS_PER_CLIENT = 50;
+
+    /**
+     * To test that every task added by clients sending commands at the same time is kept, and that their
+     * responses are sent back whole.
+     */
+    @Test
+    public void serve_concurrentClients_everyTaskAdded() throws Exception {
+        TaskFlow taskFlow = new TaskFlow(Files.createTempDirectory("taskflow-server"));
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        try (Server server = new Server(taskFlow, 0)) {
+            int port = startServing(server);
+            List<Future<?>> clients = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                int client = i;
+                clients.add(pool.submit(() -> {
+                    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+                        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                                StandardCharsets.UTF_8));
+                        for (int j = 0; j < TASKS_PER_CLIENT; j++) {
+                            out.println("todo client " + client + " task " + j);
+                            assertTrue(readResponse(in).contains("client " + client + " task " + j));
+                            out.println("find client " + client + " task");
+                            assertTrue(readResponse(in).contains("client " + client + " task " + j));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                        StandardCharsets.UTF_8));
+                out.println("list --page 1 --size 1");
+                assertTrue(readResponse(in).contains("page 1 of " + CLIENTS * TASKS_PER_CLIENT + ")"));
+            }
+        } finally {
+            pool.shutdown();
+            taskFlow.close();
+        }
+    }
+
+    /**
+     * To test that each response ends with its own end line, and that the connection is closed after
+     * the "bye" command.
+     */
+    @Test
+    public void serve_helpThenBye_connectionClosed() throws Exception {
+        TaskFlow taskFlow = new TaskFlow(Files.createTempDirectory("taskflow-server"));
+        try (Server server = new Server(taskFlow, 0);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), startServing(server))) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            out.println("help");
+            String help = readResponse(in);
+            out.println("bye");
+
+            assertTrue(help.contains("bye: Terminate the program."));
+            assertTrue(readResponse(in).contains("Goodbye"));
+            assertEquals(null, in.readLine());
+        } finally {
+            taskFlow.close();
+        }
+    }
+
+    private static int startServing(Server server) {
+        new Thread(server::serve).start();
+        return server.getPort();
+    }
+
+    private static String readResponse(BufferedReader in) throws IOException {
+        StringBuilder response = new StringBuilder();
+        String line;
+        while (!(line = in.readLine()).equals(".")) {
+            response.append(line.startsWith(".") ? line.substring(1) : line).append('\n');
+        }
+        return response.toString();
+    }
+}
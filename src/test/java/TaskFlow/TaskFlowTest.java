@@ -0,0 +1,125 @@
+package TaskFlow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A test class for testing the script mode and the command thread of the TaskFlow class.
+ */
+public class TaskFlowTest {
+
+    @TempDir
+    Path dataDirectory;
+
+    /**
+     * To test that a script whose last command fails leaves the tasks, in memory and on disk,
+     * as they were before the script.
+     */
+    @Test
+    public void runScript_failingCommand_changesRolledBack() {
+        TaskFlow taskFlow = new TaskFlow(dataDirectory);
+        String before = taskFlow.run("list");
+
+        String response = taskFlow.runScript("todo script task\n"
+                + "mark 1\n"
+                + "\n"
+                + "delete 999999");
+
+        assertTrue(response.contains("Line 4"));
+        assertEquals(before, taskFlow.run("list"));
+        assertEquals(before, new TaskFlow(dataDirectory).run("list"));
+    }
+
+    /**
+     * To test that the commands of a successful script are all applied and saved.
+     */
+    @Test
+    public void runScript_validCommands_changesSaved() {
+        TaskFlow taskFlow = new TaskFlow(dataDirectory);
+
+        taskFlow.run("todo first\r\ntodo second");
+
+        String list = new TaskFlow(dataDirectory).run("list");
+        assertTrue(list.contains("first"));
+        assertTrue(list.contains("second"));
+    }
+
+    /**
+     * To test that inputs submitted without waiting run in submission order, each seeing the changes of the last.
+     */
+    @Test
+    public void submit_dependentInputs_runInOrder() {
+        TaskFlow taskFlow = new TaskFlow(dataDirectory);
+
+        CompletableFuture<String> added = taskFlow.submit("todo queued");
+        CompletableFuture<String> found = taskFlow.submit("find queued");
+        CompletableFuture<String> addedAgain = taskFlow.submit("todo queued");
+
+        assertTrue(added.join().contains("queued"));
+        assertTrue(found.join().contains("queued"));
+        assertTrue(addedAgain.join().contains("already exists"));
+        taskFlow.close();
+    }
+
+    /**
+     * To test that closing writes the session's stats into the data directory when no stats file is named.
+     */
+    @Test
+    public void close_noStatsFileProperty_statsInDataDirectory() {
+        TaskFlow taskFlow = new TaskFlow(dataDirectory);
+        taskFlow.run("list");
+
+        taskFlow.close();
+
+        assertTrue(Files.exists(dataDirectory.resolve("stats.json")));
+    }
+
+    /**
+     * To test that a listing written to a slow output lets a command that changes the tasks run meanwhile,
+     * and lists the tasks as they were.
+     */
+    @Test
+    public void run_listToSlowOutput_otherCommandsRunMeanwhile() {
+        TaskFlow taskFlow = new TaskFlow(dataDirectory);
+        taskFlow.run("todo read book");
+        StringBuilder written = new StringBuilder();
+        CompletableFuture<String> added = new CompletableFuture<>();
+        Appendable out = new Appendable() {
+            @Override
+            public Appendable append(CharSequence text) {
+                if (!added.isDone()) {
+                    added.complete(CompletableFuture.supplyAsync(() -> taskFlow.run("todo write essay"))
+                            .orTimeout(5, TimeUnit.SECONDS).join());
+                }
+                written.append(text);
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence text, int start, int end) {
+                return append(text.subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(char c) {
+                return append(String.valueOf(c));
+            }
+        };
+
+        taskFlow.run("list", out);
+
+        assertTrue(added.join().contains("write essay"));
+        assertTrue(written.toString().contains("read book"));
+        assertFalse(written.toString().contains("write essay"));
+        taskFlow.close();
+    }
+}
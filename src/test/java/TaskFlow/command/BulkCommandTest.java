@@ -0,0 +1,60 @@
+package TaskFlow.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import TaskFlow.Parser;
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.storage.Storage;
+import TaskFlow.task.Task;
+import TaskFlow.task.TaskList;
+import TaskFlow.task.ToDo;
+import TaskFlow.ui.Ui;
+
+/**
+ * A test class for testing the functionality of the BulkCommand class.
+ */
+public class BulkCommandTest {
+
+    @TempDir
+    Path dataDirectory;
+
+    /**
+     * To test that when saving the task file fails at the end of a bulk archive, the archive is still saved
+     * and neither storage is left inside a batch, holding back every later change.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary files cannot be written.
+     */
+    @Test
+    public void execute_taskFileSaveFails_batchesEnded() throws TaskFlowException, IOException {
+        Path taskPath = dataDirectory.resolve("taskie.txt");
+        Path archivePath = dataDirectory.resolve("archive.txt");
+        Storage storage = new Storage(taskPath.toString());
+        Storage archived = new Storage(archivePath.toString());
+        TaskList tasks = new TaskList(storage.load());
+        TaskList archiveTasks = new TaskList(archived.load());
+        tasks.add(new ToDo("read book"));
+        tasks.add(new ToDo("write essay"));
+        storage.saveTask(tasks);
+        // A directory in the way of the temporary file makes the next save of the task file fail.
+        Path blocker = Files.createDirectory(Path.of(taskPath + ".tmp"));
+
+        Command command = Parser.parse("archive 1-2");
+        assertThrows(TaskFlowException.class, () -> command.execute(tasks, archiveTasks, new Ui(), storage, archived));
+        assertEquals(2, new Storage(archivePath.toString()).load().size());
+
+        Files.delete(blocker);
+        Task added = new ToDo("plan trip");
+        tasks.add(added);
+        storage.recordAdd(tasks, added);
+        assertEquals(1, new Storage(taskPath.toString()).load().size());
+    }
+}
@@ -0,0 +1,75 @@
+package TaskFlow.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import TaskFlow.Parser;
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.storage.Storage;
+import TaskFlow.task.TaskList;
+import TaskFlow.task.ToDo;
+import TaskFlow.ui.Ui;
+
+/**
+ * A test class for testing the paged and streamed output of the ListCommand class.
+ */
+public class ListCommandTest {
+
+    private final Ui ui = new Ui();
+    private final Storage storage = new Storage("./data/duke.txt");
+    private final Storage archived = new Storage("./data/archive.txt");
+
+    private TaskList tasksNumbered(int count) throws TaskFlowException {
+        TaskList tasks = new TaskList();
+        for (int i = 1; i <= count; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        return tasks;
+    }
+
+    /**
+     * To test that listing a page shows only its tasks, numbered by their position in the whole list,
+     * and that the last page may be shorter.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow related exception during the test.
+     */
+    @Test
+    public void execute_page_onlyTasksOfPageListed() throws TaskFlowException {
+        TaskList tasks = tasksNumbered(7);
+
+        String response = Parser.parse("list --page 3 --size 3").execute(tasks, new TaskList(), ui, storage, archived);
+
+        assertEquals(ui.showListPage(3, 3) + "7. " + new ToDo("task 7") + "\n", response);
+    }
+
+    /**
+     * To test that writing the whole list to an output gives the same text as executing the command.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow related exception during the test.
+     */
+    @Test
+    public void executeTo_wholeList_sameAsExecute() throws TaskFlowException {
+        TaskList tasks = tasksNumbered(5);
+        StringBuilder out = new StringBuilder();
+
+        new ListCommand().executeTo(tasks, new TaskList(), ui, storage, archived, out);
+
+        assertEquals(ui.showList() + tasks.list(), out.toString());
+        assertTrue(out.toString().contains("5. " + new ToDo("task 5")));
+    }
+
+    /**
+     * To test that a page past the end of the list, or a malformed page option, throws the expected exception.
+     */
+    @Test
+    public void execute_invalidPage_exceptionThrown() {
+        assertThrows(TaskFlowException.class, () -> Parser.parse("list --page 4 --size 3")
+                .execute(tasksNumbered(7), new TaskList(), ui, storage, archived));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("list --page 0"));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("list --size"));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("list archive --pages 2"));
+    }
+}
@@ -1,5 +1,6 @@
 package TaskFlow.command;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -176,4 +177,57 @@ public class ParserTest {
         assertTrue(c4 instanceof ToDoCommand);
         assertTrue(c5 instanceof EventCommand);
     }
+
+    /**
+     * To test that parsing an unknown command word or a non-numeric index throws the expected exception.
+     */
+    @Test
+    public void parse_invalidCommandOrIndex_exceptionThrown() {
+        assertThrows(TaskFlowException.class, () -> Parser.parse("lists"));
+        assertThrows(TaskFlowException.class, () -> Parser.parse(" list"));
+        assertThrows(TaskFlowException.class, () -> Parser.parse(""));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("delete one"));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("mark 99999999999"));
+    }
+
+    /**
+     * To test that parsing a deadline or an event whose date/time is missing after its marker
+     * throws the expected exception.
+     */
+    @Test
+    public void parse_missingDateAfterMarker_exceptionThrown() {
+        assertThrows(TaskFlowException.class, () -> Parser.parse("deadline Finish project /by "));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("deadline Finish project /by"));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("event Birthday party /from 2022-12-31"));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("event Birthday party /from 2022-12-31 /to"));
+    }
+
+    /**
+     * To test that parsing a command over several indices, a range or the done tasks returns a BulkCommand,
+     * and that a malformed selection throws the expected exception.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow related exception during the test.
+     */
+    @Test
+    public void parse_indexSelection_bulkCommandReturned() throws TaskFlowException {
+        assertTrue(Parser.parse("delete 3,7,9") instanceof BulkCommand);
+        assertTrue(Parser.parse("mark 1-500") instanceof BulkCommand);
+        assertTrue(Parser.parse("unmark 2, 4-6") instanceof BulkCommand);
+        assertTrue(Parser.parse("archive done") instanceof BulkCommand);
+        assertTrue(Parser.parse("unarchive 1-2") instanceof BulkCommand);
+        assertTrue(Parser.parse("mark 3") instanceof MarkCommand);
+        assertThrows(TaskFlowException.class, () -> Parser.parse("delete 3,"));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("mark 5-"));
+        assertThrows(TaskFlowException.class, () -> Parser.parse("archive finished"));
+    }
+
+    /**
+     * To test that parsing a stats command returns the expected StatsCommand instance.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow related exception during the test.
+     */
+    @Test
+    public void parse_validStatsCommand_statsCommandReturned() throws TaskFlowException {
+        assertTrue(Parser.parse("stats") instanceof StatsCommand);
+    }
 }
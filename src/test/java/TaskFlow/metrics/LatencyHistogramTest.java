@@ -0,0 +1,44 @@
+package TaskFlow.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test class for testing the percentiles of the LatencyHistogram class.
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * To test that the percentiles of latencies from 1 to 100 000 ns are within the bucket precision
+     * of the exact ones, and that the maximum is exact.
+     */
+    @Test
+    public void getPercentile_uniformLatencies_withinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        long p50 = histogram.getPercentile(0.5);
+        long p99 = histogram.getPercentile(0.99);
+        assertTrue(p50 >= 50_000 && p50 <= 50_000 * 1.07, "p50 was " + p50);
+        assertTrue(p99 >= 99_000 && p99 <= 100_000, "p99 was " + p99);
+    }
+
+    /**
+     * To test that every value falls in a bucket whose highest value is at least the value itself
+     * and within the bucket precision of it.
+     */
+    @Test
+    public void bucketOf_anyValue_boundedByHighestValue() {
+        long[] values = {0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            long highest = LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(value));
+            assertTrue(highest >= value && highest - value <= value / 16, value + " -> " + highest);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package TaskFlow.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.task.ToDo;
+
+/**
+ * A test class for testing the functionality of the Journal class.
+ */
+public class JournalTest {
+
+    /**
+     * To test that a compaction failing in the background is reported by the next append, which is still written.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary directory cannot be created.
+     */
+    @Test
+    public void appendAll_afterFailedCompaction_errorReportedOnce() throws TaskFlowException, IOException {
+        Path directory = Files.createTempDirectory("taskflow");
+        String filePath = directory.resolve("taskie.txt").toString();
+        // The snapshot cannot be written, as a directory is in the way of its temporary file.
+        Files.createDirectory(Path.of(filePath + ".tmp"));
+        Journal journal = new Journal(filePath, 1);
+        journal.append(Journal.record(Journal.ADD, "T |   | read book"));
+        assertTrue(journal.needsCompaction());
+
+        journal.compact(List.of(new ToDo("read book")), new Storage(filePath));
+        journal.awaitCompaction();
+
+        TaskFlowException e = assertThrows(TaskFlowException.class,
+                () -> journal.append(Journal.record(Journal.MARK, "T |   | read book")));
+        assertTrue(e.getMessage().startsWith("Error compacting journal"));
+        journal.append(Journal.record(Journal.UNMARK, "T | X | read book"));
+        assertEquals(3, journal.readRecords().size());
+    }
+}
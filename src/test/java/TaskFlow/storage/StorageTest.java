@@ -0,0 +1,296 @@
+package TaskFlow.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import TaskFlow.exception.TaskFlowException;
+import TaskFlow.task.Deadline;
+import TaskFlow.task.Task;
+import TaskFlow.task.TaskList;
+import TaskFlow.task.ToDo;
+
+/**
+ * A test class for testing the functionality of the Storage class.
+ */
+public class StorageTest {
+
+    /**
+     * To test that changes logged to the journal are replayed when the tasks are loaded again.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary directory cannot be created.
+     */
+    @Test
+    public void load_journalMode_changesReplayed() throws TaskFlowException, IOException {
+        String filePath = Files.createTempDirectory("taskflow").resolve("taskie.txt").toString();
+        Storage storage = new Storage(filePath, true);
+        TaskList tasks = new TaskList(storage.load());
+
+        Task read = new ToDo("read book");
+        Task write = new ToDo("write essay");
+        tasks.add(read);
+        storage.recordAdd(tasks, read);
+        tasks.add(write);
+        storage.recordAdd(tasks, write);
+        tasks.mark(2);
+        storage.recordMark(tasks, 2);
+        tasks.delete(1);
+        storage.recordDelete(tasks, read);
+
+        List<Task> loaded = new Storage(filePath, true).load();
+        assertEquals(1, loaded.size());
+        assertEquals("T | X | write essay", loaded.get(0).toString());
+        assertEquals(0, Files.size(Path.of(filePath)));
+    }
+
+    /**
+     * To test that journal records tell apart a todo and a deadline with the same description.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary directory cannot be created.
+     */
+    @Test
+    public void load_journalSameDescriptionDifferentTypes_bothKept() throws TaskFlowException, IOException {
+        String filePath = Files.createTempDirectory("taskflow").resolve("taskie.txt").toString();
+        Storage storage = new Storage(filePath, true);
+        TaskList tasks = new TaskList(storage.load());
+
+        Task todo = new ToDo("read");
+        Task deadline = new Deadline("read", "2024-02-05 06:00pm");
+        tasks.add(todo);
+        storage.recordAdd(tasks, todo);
+        tasks.add(deadline);
+        storage.recordAdd(tasks, deadline);
+        tasks.mark(2);
+        storage.recordMark(tasks, 2);
+
+        List<Task> loaded = new Storage(filePath, true).load();
+        assertEquals(2, loaded.size());
+        assertEquals("T |   | read", loaded.get(0).toString());
+        assertEquals(deadline.toString(), loaded.get(1).toString());
+        assertTrue(loaded.get(1).isDone());
+    }
+
+    /**
+     * To test that replaying a journal over a snapshot that already holds its changes
+     * gives the same tasks, as happens when compaction is interrupted.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary files cannot be written.
+     */
+    @Test
+    public void load_journalAlreadyInSnapshot_sameTasks() throws TaskFlowException, IOException {
+        Path dir = Files.createTempDirectory("taskflow");
+        String filePath = dir.resolve("taskie.txt").toString();
+        Files.writeString(Path.of(filePath), "T | X | read book\nT |   | write essay\n");
+        Files.writeString(Path.of(filePath + ".journal.old"),
+                "A | T |   | read book\nM | read book\nD | plan trip\nA | T |   | write essay\n");
+
+        List<Task> loaded = new Storage(filePath, true).load();
+        assertEquals(2, loaded.size());
+        assertEquals("T | X | read book", loaded.get(0).toString());
+        assertEquals("T |   | write essay", loaded.get(1).toString());
+    }
+
+    /**
+     * To test that marking and unmarking a task patches its status icon in the file in place.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary files cannot be written.
+     */
+    @Test
+    public void recordMark_loadedFile_statusPatchedInPlace() throws TaskFlowException, IOException {
+        Path path = Files.createTempDirectory("taskflow").resolve("taskie.txt");
+        Files.writeString(path, "T |   | read book\r\nT |   | write \u00e9ssay\nT | X | plan trip\n");
+        Storage storage = new Storage(path.toString());
+        TaskList tasks = new TaskList(storage.load());
+
+        tasks.mark(2);
+        storage.recordMark(tasks, 2);
+        tasks.unmark(3);
+        storage.recordUnmark(tasks, 3);
+
+        assertEquals("T |   | read book\r\nT | X | write \u00e9ssay\nT |   | plan trip\n",
+                Files.readString(path));
+    }
+
+    /**
+     * To test that tasks imported from the text file survive a round trip through the binary snapshot,
+     * including a status patched in place.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary files cannot be written.
+     */
+    @Test
+    public void load_binarySnapshot_sameTasks() throws TaskFlowException, IOException {
+        Path path = Files.createTempDirectory("taskflow").resolve("taskie.txt");
+        Files.writeString(path, "T |   | read book\nD | X | submit ip | Feb 23 2024 at 11:59PM\n"
+                + "E |   | career fest | 20-2-2024 - 22-2-2024\n");
+        Storage storage = new Storage(path.toString());
+        storage.useBinarySnapshot();
+        TaskList tasks = new TaskList(storage.load());
+        storage.saveTask(tasks);
+        tasks.mark(1);
+        storage.recordMark(tasks, 1);
+
+        Storage reloaded = new Storage(path.toString());
+        reloaded.useBinarySnapshot();
+        List<Task> loaded = reloaded.load();
+        assertEquals(3, loaded.size());
+        assertEquals("T | X | read book", loaded.get(0).toString());
+        assertEquals(tasks.getTasks().get(1).toString(), loaded.get(1).toString());
+        assertEquals(tasks.getTasks().get(2).toString(), loaded.get(2).toString());
+    }
+
+    /**
+     * To test that switching the binary format off after changes were saved in it loads those changes,
+     * rather than the older text file.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary files cannot be written.
+     */
+    @Test
+    public void load_binaryNewerThanText_binaryImported() throws TaskFlowException, IOException {
+        Path path = Files.createTempDirectory("taskflow").resolve("taskie.txt");
+        Files.writeString(path, "T |   | read book\n");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        Storage binary = new Storage(path.toString());
+        binary.useBinarySnapshot();
+        TaskList tasks = new TaskList(binary.load());
+        tasks.add(new ToDo("write essay"));
+        binary.saveTask(tasks);
+
+        Storage text = new Storage(path.toString());
+        TaskList loaded = new TaskList(text.load());
+        assertEquals(2, loaded.getTaskSize());
+        loaded.mark(2);
+        text.recordMark(loaded, 2);
+
+        List<Task> reloaded = new Storage(path.toString()).load();
+        assertEquals("T |   | read book", reloaded.get(0).toString());
+        assertEquals("T | X | write essay", reloaded.get(1).toString());
+    }
+
+    /**
+     * To test that a text file spanning several chunks is decoded in file order.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary files cannot be written.
+     */
+    @Test
+    public void load_multiChunkTextFile_orderPreserved() throws TaskFlowException, IOException {
+        Path path = Files.createTempDirectory("taskflow").resolve("taskie.txt");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            content.append("T | ").append(i % 2 == 0 ? "X" : " ").append(" | task ").append(i).append("\n");
+        }
+        Files.writeString(path, content);
+
+        List<Task> loaded = new Storage(path.toString()).load();
+        assertEquals(50000, loaded.size());
+        for (int i = 0; i < 50000; i++) {
+            assertEquals("task " + i, loaded.get(i).getDescription());
+        }
+
+        TaskList tasks = new TaskList(loaded);
+        Storage storage = new Storage(path.toString());
+        storage.load();
+        tasks.mark(50000);
+        storage.recordMark(tasks, 50000);
+        assertEquals("T | X | task 49999", new Storage(path.toString()).load().get(49999).toString());
+    }
+
+    /**
+     * To test that a lazily loaded list decodes its tasks on access and writes untouched lines back as they were.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary files cannot be written.
+     */
+    @Test
+    public void load_lazyLoading_tasksDecodedOnAccess() throws TaskFlowException, IOException {
+        Path path = Files.createTempDirectory("taskflow").resolve("archive.txt");
+        Files.writeString(path, "T | X | read book\nE |   | career fest | mon-tue\n");
+        Storage storage = new Storage(path.toString());
+        storage.useLazyLoading();
+        List<Task> loaded = storage.load();
+        assertTrue(loaded instanceof LazyTaskList);
+
+        TaskList tasks = new TaskList(loaded);
+        Task plan = new ToDo("plan trip");
+        tasks.add(plan);
+        storage.recordAdd(tasks, plan);
+        tasks.delete(1);
+        storage.recordDelete(tasks, loaded.get(0));
+
+        assertEquals("E |   | career fest | mon-tue", tasks.getTasks().get(0).toString());
+        assertEquals(List.of("E |   | career fest | mon-tue", "T |   | plan trip"),
+                Files.readAllLines(path));
+    }
+
+    /**
+     * To test that a write failing with an unchecked exception is reported by flush, and that the writer
+     * thread goes on to write later changes.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary directory cannot be created.
+     */
+    @Test
+    public void flush_uncheckedWriteFailure_reportedAndWriterAlive() throws TaskFlowException, IOException {
+        String filePath = Files.createTempDirectory("taskflow").resolve("taskie.txt").toString();
+        Storage storage = new Storage(filePath, false);
+        storage.setDurabilityPolicy(DurabilityPolicy.EVERY_COMMAND, 0);
+        TaskList broken = new TaskList();
+        broken.add(new ToDo("broken") {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("broken task");
+            }
+        });
+
+        storage.saveTask(broken);
+        assertThrows(TaskFlowException.class, storage::flush);
+
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("read book"));
+        storage.saveTask(tasks);
+        storage.flush();
+        assertEquals("T |   | read book", new Storage(filePath, false).load().get(0).toString());
+    }
+
+    /**
+     * To test that a background save writes the tasks as they were when it was requested, not the changes
+     * of a transaction begun meanwhile, and that rolling the transaction back saves the tasks again.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow exception during the test.
+     * @throws IOException       If the temporary directory cannot be created.
+     */
+    @Test
+    public void flush_changedAfterSaveRequest_requestedTasksWritten() throws TaskFlowException, IOException {
+        String filePath = Files.createTempDirectory("taskflow").resolve("taskie.txt").toString();
+        Storage storage = new Storage(filePath, false);
+        storage.setDurabilityPolicy(DurabilityPolicy.ON_EXIT, 0);
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("read book"));
+        storage.saveTask(tasks);
+
+        tasks.beginTransaction();
+        storage.beginBatch();
+        tasks.add(new ToDo("write essay"));
+        storage.flush();
+        assertEquals(1, new Storage(filePath, false).load().size());
+
+        tasks.rollback();
+        storage.abortBatch(tasks);
+        storage.flush();
+        assertEquals(1, new Storage(filePath, false).load().size());
+    }
+}
@@ -0,0 +1,45 @@
+package TaskFlow.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Test;
+
+import TaskFlow.exception.TaskFlowException;
+
+/**
+ * A test class for testing the conversions of the DateCodec class.
+ */
+public class DateCodecTest {
+
+    /**
+     * To test that a date typed by the user is shown, and read back from the task file, as the
+     * java.time formatters would.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow related exception during the test.
+     */
+    @Test
+    public void parseInput_validDate_displayedAsFormatter() throws TaskFlowException {
+        long epochSecond = DateCodec.parseInput("2024-02-05 06:00pm");
+        String expected = DateTimeFormatter.ofPattern("MMM dd yyyy 'at' hh:mma")
+                .format(LocalDateTime.of(2024, 2, 5, 18, 0));
+
+        assertEquals(LocalDateTime.of(2024, 2, 5, 18, 0), DateCodec.toDateTime(epochSecond));
+        assertEquals(expected, DateCodec.formatDisplay(epochSecond));
+        assertEquals(epochSecond, DateCodec.parseDisplay(expected));
+        assertEquals(DateCodec.parseInput("2023-02-28 12:30AM"), DateCodec.parseInput("2023-02-30 12:30am"));
+    }
+
+    /**
+     * To test that a date outside the input format throws the expected exception.
+     */
+    @Test
+    public void parseInput_invalidDate_exceptionThrown() {
+        assertThrows(TaskFlowException.class, () -> DateCodec.parseInput("2024-02-05 18:00pm"));
+        assertThrows(TaskFlowException.class, () -> DateCodec.parseInput("2024-13-05 06:00pm"));
+        assertThrows(TaskFlowException.class, () -> DateCodec.parseInput("05/02/2024 06:00pm"));
+    }
+}
@@ -0,0 +1,124 @@
+package TaskFlow.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import TaskFlow.exception.TaskFlowException;
+
+/**
+ * A test class for testing the duplicate detection of the TaskList class.
+ */
+public class TaskListTest {
+
+    /**
+     * To test that adding a task already in a loaded list is rejected.
+     */
+    @Test
+    public void add_duplicateOfLoadedTask_exceptionThrown() {
+        List<Task> loaded = new ArrayList<>();
+        loaded.add(new ToDo("read book"));
+        loaded.add(new ToDo("return book"));
+        TaskList tasks = new TaskList(loaded);
+
+        assertThrows(TaskFlowException.class, () -> tasks.add(new ToDo("return book")));
+        assertEquals(2, tasks.getTaskSize());
+    }
+
+    /**
+     * To test that a task can be added again once it has been deleted,
+     * and that a task of another type with the same description is not a duplicate.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow related exception during the test.
+     */
+    @Test
+    public void add_afterDelete_success() throws TaskFlowException {
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("read book"));
+        tasks.add(new Task("read book"));
+        tasks.delete(1);
+        tasks.add(new ToDo("read book"));
+
+        assertEquals(2, tasks.getTaskSize());
+        assertThrows(TaskFlowException.class, () -> tasks.add(new ToDo("read book")));
+    }
+
+    /**
+     * To test that duplicates, and tasks of other types sharing a hash code, are told apart without
+     * searching the list itself.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow related exception during the test.
+     */
+    @Test
+    public void add_sameHashCode_decidedWithoutListScan() throws TaskFlowException {
+        List<Task> loaded = new ArrayList<>() {
+            @Override
+            public boolean contains(Object o) {
+                throw new AssertionError("The list was scanned");
+            }
+        };
+        loaded.add(new ToDo("read book"));
+        TaskList tasks = new TaskList(loaded);
+
+        tasks.add(new Deadline("read book", "2024-02-05 06:00pm"));
+        assertThrows(TaskFlowException.class, () -> tasks.add(new ToDo("read book")));
+        assertEquals(2, tasks.getTaskSize());
+    }
+
+    /**
+     * To test that finding a keyword after tasks are added, deleted and rolled back returns the same tasks,
+     * in the same order, as checking every description.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow related exception during the test.
+     */
+    @Test
+    public void findTasksByKeyword_afterChanges_sameAsScan() throws TaskFlowException {
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("Read book"));
+        tasks.add(new ToDo("buy notebook"));
+        tasks.indexKeywords();
+        tasks.add(new Deadline("return BOOKS", "2024-02-05 06:00pm"));
+        tasks.add(new ToDo("cook dinner"));
+        tasks.delete(1);
+        tasks.add(new ToDo("read book"));
+        tasks.beginTransaction();
+        tasks.add(new ToDo("book club"));
+        tasks.delete(1);
+        tasks.rollback();
+
+        for (String keyword : new String[] {"book", "BOOK", "ook", "ok", "dinner", "k d", "d ", "x", "xyz"}) {
+            List<Task> expected = new ArrayList<>();
+            for (Task task : tasks.getTasks()) {
+                if (task.containsKeyword(keyword)) {
+                    expected.add(task);
+                }
+            }
+            assertEquals(expected, tasks.findTasksByKeyword(keyword));
+        }
+    }
+
+    /**
+     * To test that deleting several tasks at once removes exactly those tasks, keeps the rest in order,
+     * and lets the deleted tasks be added again.
+     *
+     * @throws TaskFlowException If there is an unexpected TaskFlow related exception during the test.
+     */
+    @Test
+    public void deleteAll_severalIndices_remainingInOrder() throws TaskFlowException {
+        TaskList tasks = new TaskList();
+        for (int i = 1; i <= 6; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        List<Task> deleted = tasks.deleteAll(new int[] {1, 3, 4, 6});
+
+        assertEquals(List.of(new ToDo("task 1"), new ToDo("task 3"), new ToDo("task 4"), new ToDo("task 6")),
+                deleted);
+        assertEquals(List.of(new ToDo("task 2"), new ToDo("task 5")), tasks.getTasks());
+        tasks.add(new ToDo("task 3"));
+        assertEquals(3, tasks.getTaskSize());
+    }
+}
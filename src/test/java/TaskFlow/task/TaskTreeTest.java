@@ -0,0 +1,72 @@
+package TaskFlow.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test class for testing the positional operations of the TaskTree class.
+ */
+public class TaskTreeTest {
+
+    /**
+     * To test that random inserts, removals and replacements by position leave a TaskTree
+     * in the same order as an ArrayList given the same operations.
+     */
+    @Test
+    public void positionalOperations_randomSequence_sameOrderAsArrayList() {
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            initial.add(new ToDo("task " + i));
+        }
+        List<Task> expected = new ArrayList<>(initial);
+        List<Task> tree = new TaskTree(initial);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = new ToDo("added " + i);
+                expected.add(index, task);
+                tree.add(index, task);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), tree.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = new ToDo("replaced " + i);
+                assertEquals(expected.set(index, task), tree.set(index, task));
+            }
+        }
+
+        assertEquals(expected.size(), tree.size());
+        assertEquals(expected, new ArrayList<>(tree));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tree.get(i));
+        }
+    }
+
+    /**
+     * To test that iterating a TaskTree from any position returns the same tasks as a sublist of an
+     * ArrayList holding the same tasks.
+     */
+    @Test
+    public void iterator_fromEveryPosition_sameAsSubList() {
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            expected.add(new ToDo("task " + i));
+        }
+        TaskTree tree = new TaskTree(expected);
+
+        for (int from = 0; from <= expected.size(); from++) {
+            List<Task> iterated = new ArrayList<>();
+            tree.iterator(from).forEachRemaining(iterated::add);
+            assertEquals(expected.subList(from, expected.size()), iterated);
+        }
+    }
+}
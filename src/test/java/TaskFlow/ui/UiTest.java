@@ -0,0 +1,58 @@
+package TaskFlow.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import TaskFlow.task.Task;
+import TaskFlow.task.ToDo;
+
+/**
+ * A test class for testing the messages built by the Ui class.
+ */
+public class UiTest {
+
+    /**
+     * To test that the find message numbers every matching task on its own line.
+     */
+    @Test
+    public void showFindMsg_severalTasks_numberedLines() {
+        List<Task> tasks = List.of(new ToDo("read book"), new ToDo("return book"));
+
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1." + tasks.get(0) + "\n"
+                + "2." + tasks.get(1) + "\n", new Ui().showFindMsg(tasks));
+    }
+
+    /**
+     * To test that reusing the buffer for consecutive messages leaves nothing of the previous message behind.
+     */
+    @Test
+    public void showAddMsg_afterLongerMessage_onlyNewText() {
+        Ui ui = new Ui();
+        Task task = new ToDo("read book");
+        ui.showScriptErrorMsg(12, "a long error message that is longer than the next message");
+
+        assertEquals("Got it. I've added this task: \n" + task + "\n"
+                + "Now you have 3 tasks in the list.\n", ui.showAddMsg(task, 3));
+    }
+
+    /**
+     * To test that a message written after other text is appended to it, the same as the message built alone.
+     *
+     * @throws IOException If there is an unexpected error writing to a StringBuilder.
+     */
+    @Test
+    public void writeDeleteMsg_afterOtherText_appended() throws IOException {
+        Ui ui = new Ui();
+        Task task = new ToDo("read book");
+        StringBuilder out = new StringBuilder("before\n");
+
+        ui.writeDeleteMsg(task, 4, out);
+
+        assertEquals("before\n" + ui.showDeleteMsg(task, 4), out.toString());
+    }
+}